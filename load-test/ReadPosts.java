@@ -0,0 +1,129 @@
+// The scenario of read-posts.js for hosts without k6, using only the JDK:
+//
+//   java load-test/ReadPosts.java http://localhost:8080 500 60s 15s
+//
+// Arguments are the base URL, the number of virtual users, the measured
+// duration and an unmeasured warm-up. Every virtual user loops over the same
+// three requests as the k6 script. The summary counts requests, rejections
+// (503) and other failures and gives latency percentiles over all requests.
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class ReadPosts {
+
+    private static final Pattern POST = Pattern.compile("\\{\"id\":(\\d+),.*?\"user\":\\{\"id\":(\\d+)");
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int virtualUsers = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        Duration duration = Duration.parse("PT" + (args.length > 2 ? args[2] : "60s"));
+        Duration warmUp = Duration.parse("PT" + (args.length > 3 ? args[3] : "15s"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        Stats stats = new Stats();
+        long measureFrom = System.nanoTime() + warmUp.toNanos();
+        long stopAt = measureFrom + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < virtualUsers; i++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < stopAt) {
+                        iteration(client, baseUrl, stats, measureFrom);
+                    }
+                    return null;
+                });
+            }
+        }
+
+        stats.print(virtualUsers, duration);
+    }
+
+    private static void iteration(HttpClient client, String baseUrl, Stats stats, long measureFrom) {
+        String page = get(client, baseUrl + "/api/posts?limit=20", stats, measureFrom);
+        if (page == null) {
+            return;
+        }
+
+        List<String[]> posts = new ArrayList<>();
+        Matcher matcher = POST.matcher(page);
+        while (matcher.find()) {
+            posts.add(new String[]{matcher.group(1), matcher.group(2)});
+        }
+        if (posts.isEmpty()) {
+            return;
+        }
+
+        String[] post = posts.get(ThreadLocalRandom.current().nextInt(posts.size()));
+        get(client, baseUrl + "/api/posts/" + post[0], stats, measureFrom);
+        get(client, baseUrl + "/api/posts/user/" + post[1] + "?limit=20", stats, measureFrom);
+    }
+
+    private static String get(HttpClient client, String url, Stats stats, long measureFrom) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(60)).GET().build();
+        long start = System.nanoTime();
+        int status;
+        String body = null;
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            status = response.statusCode();
+            body = status == 200 ? response.body() : null;
+        } catch (Exception e) {
+            status = -1;
+        }
+        if (start >= measureFrom) {
+            stats.record(status, System.nanoTime() - start);
+        }
+        return body;
+    }
+
+    private static final class Stats {
+
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        void record(int status, long nanos) {
+            latencies.add(nanos);
+            if (status == 503) {
+                rejected.increment();
+            } else if (status != 200) {
+                failed.increment();
+            }
+        }
+
+        void print(int virtualUsers, Duration duration) {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            System.out.printf("virtual users   %d%n", virtualUsers);
+            System.out.printf("requests        %d (%.0f/s)%n", sorted.length, sorted.length / (double) duration.toSeconds());
+            System.out.printf("rejected (503)  %d%n", rejected.sum());
+            System.out.printf("other failures  %d%n", failed.sum());
+            System.out.printf("latency p50     %.1f ms%n", percentile(sorted, 0.50));
+            System.out.printf("latency p99     %.1f ms%n", percentile(sorted, 0.99));
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return Double.NaN;
+            }
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+// k6 load test used to compare platform-thread and virtual-thread mode.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=500 load-test/read-posts.js
+//
+// Run it once with SPRING_THREADS_VIRTUAL_ENABLED=false and once with true
+// against the same data set, and compare http_req_duration and http_reqs.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+
+export const options = {
+    scenarios: {
+        reads: {
+            executor: 'constant-vus',
+            vus: Number(__ENV.VUS || 500),
+            duration: __ENV.DURATION || '60s',
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+export default function () {
+    const page = http.get(`${BASE_URL}/api/posts?limit=20`, { tags: { name: 'page' } });
+    check(page, { 'page 200': (r) => r.status === 200 });
+
+    const items = page.status === 200 ? page.json('items') : [];
+    if (items.length > 0) {
+        const post = items[Math.floor(Math.random() * items.length)];
+        const single = http.get(`${BASE_URL}/api/posts/${post.id}`, { tags: { name: 'post' } });
+        check(single, { 'post 200': (r) => r.status === 200 });
+
+        const byUser = http.get(`${BASE_URL}/api/posts/user/${post.user.id}?limit=20`, { tags: { name: 'user-page' } });
+        check(byUser, { 'user page 200': (r) => r.status === 200 });
+    }
+}
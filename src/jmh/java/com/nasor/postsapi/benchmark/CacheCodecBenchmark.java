@@ -0,0 +1,82 @@
+package com.nasor.postsapi.benchmark;
+
+import com.nasor.postsapi.post.domain.Post;
+import com.nasor.postsapi.post.infraestructure.codec.BinaryPostCodec;
+import com.nasor.postsapi.user.infraestructure.entity.UserCacheEntity;
+import com.nasor.postsapi.user.infraestructure.mapper.UserMapperImp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.core.convert.MappingRedisConverter;
+import org.springframework.data.redis.core.convert.RedisData;
+import org.springframework.data.redis.core.mapping.RedisMappingContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding of the values stored in Redis: the binary post codec, with content
+ * below and above the default compression threshold, and the hash mapping of
+ * cached users.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheCodecBenchmark {
+
+    private static final int DEFAULT_COMPRESSION_THRESHOLD = 512;
+
+    @Param({"100", "1500"})
+    public int contentLength;
+
+    private BinaryPostCodec postCodec;
+    private MappingRedisConverter redisConverter;
+    private Post post;
+    private byte[] encodedPost;
+    private UserCacheEntity userCacheEntity;
+    private RedisData encodedUser;
+
+    @Setup
+    public void setUp() {
+        postCodec = new BinaryPostCodec(DEFAULT_COMPRESSION_THRESHOLD);
+        post = Fixtures.post(101, 1, contentLength);
+        encodedPost = postCodec.encode(post);
+
+        redisConverter = new MappingRedisConverter(new RedisMappingContext());
+        redisConverter.afterPropertiesSet();
+        userCacheEntity = new UserMapperImp().userToCacheEntity(Fixtures.user(1));
+        encodedUser = writeUser();
+    }
+
+    @Benchmark
+    public byte[] encodePost() {
+        return postCodec.encode(post);
+    }
+
+    @Benchmark
+    public Post decodePost() {
+        return postCodec.decode(encodedPost);
+    }
+
+    @Benchmark
+    public RedisData writeUser() {
+        RedisData redisData = new RedisData();
+        redisConverter.write(userCacheEntity, redisData);
+        return redisData;
+    }
+
+    @Benchmark
+    public UserCacheEntity readUser() {
+        return redisConverter.read(UserCacheEntity.class, encodedUser);
+    }
+}
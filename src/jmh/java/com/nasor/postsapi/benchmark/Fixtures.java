@@ -0,0 +1,45 @@
+package com.nasor.postsapi.benchmark;
+
+import com.nasor.postsapi.post.domain.Post;
+import com.nasor.postsapi.user.domain.User;
+
+import java.time.LocalDateTime;
+
+final class Fixtures {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 7, 26, 14, 30, 0, 123_456_000);
+
+    private Fixtures() {
+    }
+
+    static User user(long id) {
+        return User.builder()
+                .id(id)
+                .firstName("Juan")
+                .lastName("Gonzales")
+                .email("user" + id + "@example.com")
+                .version(3L)
+                .build();
+    }
+
+    static Post post(long id, long userId, int contentLength) {
+        return Post.builder()
+                .id(id)
+                .userId(userId)
+                .title("Benchmarking the post hot path " + id)
+                .content(content(contentLength))
+                .createdDate(CREATED)
+                .updatedDate(CREATED.plusMinutes(id))
+                .version(1L)
+                .build();
+    }
+
+    private static String content(int length) {
+        String sentence = "Posts are read far more often than they are written, so every byte counts. ";
+        StringBuilder content = new StringBuilder(length);
+        while (content.length() < length) {
+            content.append(sentence);
+        }
+        return content.substring(0, length);
+    }
+}
@@ -0,0 +1,77 @@
+package com.nasor.postsapi.benchmark;
+
+import com.nasor.postsapi.post.domain.Post;
+import com.nasor.postsapi.post.infraestructure.dto.PostResponseDto;
+import com.nasor.postsapi.post.infraestructure.entity.PostEntity;
+import com.nasor.postsapi.post.infraestructure.mapper.PostMapperImpl;
+import com.nasor.postsapi.user.domain.User;
+import com.nasor.postsapi.user.infraestructure.dto.UserDto;
+import com.nasor.postsapi.user.infraestructure.entity.UserEntity;
+import com.nasor.postsapi.user.infraestructure.mapper.UserMapperImp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversions every post and user response goes through.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final PostMapperImpl postMapper = new PostMapperImpl();
+    private final UserMapperImp userMapper = new UserMapperImp();
+
+    private Post post;
+    private User user;
+    private PostEntity postEntity;
+    private UserEntity userEntity;
+
+    @Setup
+    public void setUp() {
+        user = Fixtures.user(1);
+        post = Fixtures.post(101, user.getId(), 400);
+        userEntity = userMapper.userToUserEntity(user);
+        postEntity = postMapper.postToEntity(post, userEntity);
+        postEntity.setCreatedAt(post.getCreatedDate());
+        postEntity.setUpdatedAt(post.getUpdatedDate());
+    }
+
+    @Benchmark
+    public PostResponseDto postToDto() {
+        return postMapper.postToDto(post, user);
+    }
+
+    @Benchmark
+    public Post entityToPost() {
+        return postMapper.entityToPost(postEntity);
+    }
+
+    @Benchmark
+    public String postToETag() {
+        return postMapper.postToETag(post, user);
+    }
+
+    @Benchmark
+    public UserDto userToUserDto() {
+        return userMapper.userToUserDto(user);
+    }
+
+    @Benchmark
+    public User entityToUser() {
+        return userMapper.entityToUser(userEntity);
+    }
+}
@@ -0,0 +1,77 @@
+package com.nasor.postsapi.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.nasor.postsapi.post.domain.Post;
+import com.nasor.postsapi.post.infraestructure.dto.PostPageResponseDto;
+import com.nasor.postsapi.post.infraestructure.dto.PostResponseDto;
+import com.nasor.postsapi.post.infraestructure.mapper.PostMapperImpl;
+import com.nasor.postsapi.user.domain.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * JSON rendering of the post responses, with the same Jackson defaults Spring
+ * Boot applies to the application's ObjectMapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ObjectWriter writer;
+    private Post post;
+    private User user;
+    private PostResponseDto postResponse;
+    private PostPageResponseDto pageResponse;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+        PostMapperImpl postMapper = new PostMapperImpl();
+
+        user = Fixtures.user(1);
+        post = Fixtures.post(101, user.getId(), 400);
+        postResponse = postMapper.postToDto(post, user);
+        pageResponse = new PostPageResponseDto(LongStream.range(0, PAGE_SIZE)
+                .mapToObj(id -> postMapper.postToDto(Fixtures.post(id, user.getId(), 400), user))
+                .toList(), "MjAyNS0wNy0yNlQxNDozMDowMHwxMDE");
+    }
+
+    @Benchmark
+    public byte[] post() throws JsonProcessingException {
+        return writer.writeValueAsBytes(postResponse);
+    }
+
+    @Benchmark
+    public byte[] page() throws JsonProcessingException {
+        return writer.writeValueAsBytes(pageResponse);
+    }
+
+    /**
+     * Mapping plus rendering, i.e. what a GET /api/posts/{id} cache hit costs
+     * after the lookups.
+     */
+    @Benchmark
+    public byte[] mapAndWritePost() throws JsonProcessingException {
+        return writer.writeValueAsBytes(new PostMapperImpl().postToDto(post, user));
+    }
+}
@@ -0,0 +1,10 @@
+package com.nasor.postsapi.cache.infraestructure;
+
+import java.time.Duration;
+
+/**
+ * A value read from Redis together with the time it has left before it
+ * expires.
+ */
+public record CacheEntry<V>(V value, Duration timeToLive) {
+}
@@ -0,0 +1,54 @@
+package com.nasor.postsapi.cache.infraestructure;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publishes the counters the near caches and single-flight loaders already
+ * keep, the same figures served by {@code /api/cache/stats} and
+ * {@code /api/cache/loads}.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheMetricsBinder implements MeterBinder {
+
+    private final List<NearCache<?>> nearCaches;
+    private final List<SingleFlight<?, ?>> singleFlights;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        nearCaches.forEach(nearCache -> {
+            FunctionCounter.builder("near.cache.gets", nearCache, cache -> cache.stats().hitCount())
+                    .tag("cache", nearCache.getName())
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("near.cache.gets", nearCache, cache -> cache.stats().missCount())
+                    .tag("cache", nearCache.getName())
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("near.cache.evictions", nearCache, cache -> cache.stats().evictionCount())
+                    .tag("cache", nearCache.getName())
+                    .register(registry);
+            Gauge.builder("near.cache.size", nearCache, NearCache::size)
+                    .tag("cache", nearCache.getName())
+                    .register(registry);
+        });
+
+        singleFlights.forEach(singleFlight -> {
+            FunctionCounter.builder("single.flight.loads", singleFlight, SingleFlight::loadCount)
+                    .tag("name", singleFlight.getName())
+                    .tag("result", "loaded")
+                    .register(registry);
+            FunctionCounter.builder("single.flight.loads", singleFlight, SingleFlight::coalescedCount)
+                    .tag("name", singleFlight.getName())
+                    .tag("result", "coalesced")
+                    .register(registry);
+        });
+    }
+}
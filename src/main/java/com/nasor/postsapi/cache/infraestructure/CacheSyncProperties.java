@@ -0,0 +1,15 @@
+package com.nasor.postsapi.cache.infraestructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.cache-sync")
+public record CacheSyncProperties(
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("5") int maxAttempts,
+        @DefaultValue("200ms") Duration retryBackoff
+) {
+}
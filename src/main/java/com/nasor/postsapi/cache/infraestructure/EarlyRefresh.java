@@ -0,0 +1,32 @@
+package com.nasor.postsapi.cache.infraestructure;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Probabilistic early expiration ("XFetch"). A read refreshes the entry ahead
+ * of its expiry with a probability that rises as the expiry approaches:
+ * {@code window * -ln(random) >= timeToLive}. A hot key therefore gets
+ * refreshed in the background by one of its readers before it expires, while
+ * cold keys are left to expire.
+ * <p>
+ * The window stands in for XFetch's {@code delta * beta}. With a near cache in
+ * front, a key is only read from Redis about once per near-cache TTL per
+ * instance, so the window should be at least that long.
+ */
+public class EarlyRefresh {
+
+    private final long windowMillis;
+
+    public EarlyRefresh(Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    public boolean shouldRefresh(Duration timeToLive) {
+        if (timeToLive.isNegative()) {
+            return false;
+        }
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+        return windowMillis * -Math.log(random) >= timeToLive.toMillis();
+    }
+}
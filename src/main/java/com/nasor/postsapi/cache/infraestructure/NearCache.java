@@ -0,0 +1,99 @@
+package com.nasor.postsapi.cache.infraestructure;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * In-process (L1) cache in front of Redis. Entries are bounded by size
+ * (W-TinyLFU eviction) and by age, and invalidations are broadcast over Redis
+ * pub/sub so every replica drops its copy.
+ */
+public class NearCache<V> {
+
+    private final String name;
+    private final Cache<Long, V> cache;
+    private final StringRedisTemplate redisTemplate;
+    private final String invalidationChannel;
+    private final String instanceId;
+    private final SingleFlight<Long, Optional<V>> loads;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public NearCache(String name, NearCacheProperties properties, StringRedisTemplate redisTemplate, String instanceId,
+                     SingleFlight<Long, Optional<V>> loads) {
+        this.name = name;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.expireAfterWrite())
+                .recordStats()
+                .build();
+        this.redisTemplate = redisTemplate;
+        this.invalidationChannel = properties.invalidationChannel();
+        this.instanceId = instanceId;
+        this.loads = loads;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the cached value or loads it with {@code loader}. Concurrent misses
+     * on the same id share one load. Empty results are not cached, and neither
+     * is a value whose load overlapped an invalidation, since it may predate
+     * the write that caused it.
+     */
+    public Optional<V> get(Long id, Function<Long, Optional<V>> loader) {
+        V cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        return loads.load(id, key -> {
+            long invalidationsBeforeLoad = invalidations.get();
+            Optional<V> value = loader.apply(key);
+            if (invalidations.get() == invalidationsBeforeLoad) {
+                value.ifPresent(loaded -> cache.put(key, loaded));
+            }
+            return value;
+        });
+    }
+
+    /**
+     * Returns the cached value without loading it on a miss.
+     */
+    public Optional<V> getIfPresent(Long id) {
+        return Optional.ofNullable(cache.getIfPresent(id));
+    }
+
+    public void put(Long id, V value) {
+        cache.put(id, value);
+    }
+
+    public void invalidate(Long id) {
+        invalidations.incrementAndGet();
+        cache.invalidate(id);
+        redisTemplate.convertAndSend(invalidationChannel, NearCacheInvalidation.of(name, id, instanceId).encode());
+    }
+
+    /**
+     * Drops this replica's copy without telling the others.
+     */
+    public void invalidateLocal(Long id) {
+        invalidations.incrementAndGet();
+        cache.invalidate(id);
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,85 @@
+package com.nasor.postsapi.cache.infraestructure;
+
+import com.nasor.postsapi.post.domain.Post;
+import com.nasor.postsapi.post.domain.PostCursor;
+import com.nasor.postsapi.user.domain.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(NearCacheProperties.class)
+public class NearCacheConfig {
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    @Bean
+    public SingleFlight<Long, Optional<Post>> postLoads() {
+        return new SingleFlight<>("posts");
+    }
+
+    @Bean
+    public SingleFlight<Long, Optional<User>> userLoads() {
+        return new SingleFlight<>("users");
+    }
+
+    @Bean
+    public SingleFlight<Long, List<PostCursor>> timelineLoads() {
+        return new SingleFlight<>("post-timelines");
+    }
+
+    @Bean
+    public SingleFlight<String, List<PostCursor>> globalTimelineLoads() {
+        return new SingleFlight<>("post-global-timeline");
+    }
+
+    @Bean
+    public NearCache<Post> postNearCache(NearCacheProperties properties, StringRedisTemplate redisTemplate,
+                                         SingleFlight<Long, Optional<Post>> postLoads) {
+        return new NearCache<>("posts", properties, redisTemplate, instanceId, postLoads);
+    }
+
+    @Bean
+    public NearCache<User> userNearCache(NearCacheProperties properties, StringRedisTemplate redisTemplate,
+                                         SingleFlight<Long, Optional<User>> userLoads) {
+        return new NearCache<>("users", properties, redisTemplate, instanceId, userLoads);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer nearCacheListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                    NearCacheProperties properties,
+                                                                    List<NearCache<?>> nearCaches) {
+        Map<String, NearCache<?>> cachesByName = nearCaches.stream()
+                .collect(Collectors.toMap(NearCache::getName, Function.identity()));
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> {
+            NearCacheInvalidation invalidation = NearCacheInvalidation.decode(new String(message.getBody(), StandardCharsets.UTF_8));
+            if (instanceId.equals(invalidation.instanceId())) {
+                return;
+            }
+            NearCache<?> nearCache = cachesByName.get(invalidation.cacheName());
+            if (nearCache == null) {
+                log.warn("Ignoring invalidation for unknown near cache {}", invalidation.cacheName());
+                return;
+            }
+            nearCache.invalidateLocal(invalidation.id());
+        }, new ChannelTopic(properties.invalidationChannel()));
+        return container;
+    }
+}
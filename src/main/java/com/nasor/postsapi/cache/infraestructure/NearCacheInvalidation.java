@@ -0,0 +1,22 @@
+package com.nasor.postsapi.cache.infraestructure;
+
+record NearCacheInvalidation(String cacheName, Long id, String instanceId) {
+
+    private static final String SEPARATOR = "|";
+
+    static NearCacheInvalidation of(String cacheName, Long id, String instanceId) {
+        return new NearCacheInvalidation(cacheName, id, instanceId);
+    }
+
+    static NearCacheInvalidation decode(String message) {
+        String[] parts = message.split("\\" + SEPARATOR, 3);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed near cache invalidation: " + message);
+        }
+        return new NearCacheInvalidation(parts[0], Long.valueOf(parts[1]), parts[2]);
+    }
+
+    String encode() {
+        return cacheName + SEPARATOR + id + SEPARATOR + instanceId;
+    }
+}
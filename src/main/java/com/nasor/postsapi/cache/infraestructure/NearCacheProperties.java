@@ -0,0 +1,14 @@
+package com.nasor.postsapi.cache.infraestructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.near-cache")
+public record NearCacheProperties(
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("60s") Duration expireAfterWrite,
+        @DefaultValue("near-cache:invalidations") String invalidationChannel
+) {
+}
@@ -0,0 +1,28 @@
+package com.nasor.postsapi.cache.infraestructure;
+
+import com.nasor.postsapi.post.infraestructure.codec.BinaryPostCodec;
+import com.nasor.postsapi.post.infraestructure.codec.PostCodec;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+
+@Configuration
+@EnableConfigurationProperties(RedisCacheProperties.class)
+public class RedisCacheConfig {
+
+    @Bean
+    public PostCodec postCodec(RedisCacheProperties properties) {
+        return new BinaryPostCodec((int) properties.postCompressionThreshold().toBytes());
+    }
+
+    @Bean
+    public EarlyRefresh postEarlyRefresh(RedisCacheProperties properties) {
+        return new EarlyRefresh(properties.earlyRefreshWindow());
+    }
+
+    @Bean
+    public SingleFlight<Long, Boolean> postRefreshes() {
+        return new SingleFlight<>("post-refreshes");
+    }
+}
@@ -0,0 +1,20 @@
+package com.nasor.postsapi.cache.infraestructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.cache")
+public record RedisCacheProperties(
+        @DefaultValue("1h") Duration postTtl,
+        @DefaultValue("1m") Duration postTombstoneTtl,
+        @DefaultValue("1h") Duration userTtl,
+        @DefaultValue("60s") Duration earlyRefreshWindow,
+        @DefaultValue("512B") DataSize postCompressionThreshold,
+        @DefaultValue("1000") int timelineSize,
+        @DefaultValue("10000") int globalTimelineSize,
+        @DefaultValue("1h") Duration timelineTtl
+) {
+}
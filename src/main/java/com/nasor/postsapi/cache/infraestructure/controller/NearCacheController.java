@@ -0,0 +1,12 @@
+package com.nasor.postsapi.cache.infraestructure.controller;
+
+import com.nasor.postsapi.cache.infraestructure.dto.NearCacheStatsDto;
+import com.nasor.postsapi.cache.infraestructure.dto.SingleFlightStatsDto;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+public interface NearCacheController {
+    ResponseEntity<List<NearCacheStatsDto>> getStats();
+    ResponseEntity<List<SingleFlightStatsDto>> getLoadStats();
+}
@@ -0,0 +1,74 @@
+package com.nasor.postsapi.cache.infraestructure.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.nasor.postsapi.cache.infraestructure.NearCache;
+import com.nasor.postsapi.cache.infraestructure.SingleFlight;
+import com.nasor.postsapi.cache.infraestructure.dto.NearCacheStatsDto;
+import com.nasor.postsapi.cache.infraestructure.dto.SingleFlightStatsDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+@Tag(name = "Cache", description = "Near cache diagnostics")
+public class NearCacheControllerImpl implements NearCacheController {
+    private final List<NearCache<?>> nearCaches;
+    private final List<SingleFlight<?, ?>> singleFlights;
+
+    @Override
+    @Operation(summary = "Get near cache statistics", description = "Returns hit, miss and eviction counters for every in-process near cache of this instance.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully.",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = NearCacheStatsDto.class)))),
+            @ApiResponse(responseCode = "500", description = "Internal server error.")
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<List<NearCacheStatsDto>> getStats() {
+        return ResponseEntity.ok(nearCaches.stream().map(this::toDto).toList());
+    }
+
+    @Override
+    @Operation(summary = "Get single-flight load statistics", description = "Returns, for every single-flight loader of this instance, how many loads reached Redis or the database and how many concurrent callers were coalesced onto an in-flight load.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully.",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = SingleFlightStatsDto.class)))),
+            @ApiResponse(responseCode = "500", description = "Internal server error.")
+    })
+    @GetMapping("/loads")
+    public ResponseEntity<List<SingleFlightStatsDto>> getLoadStats() {
+        return ResponseEntity.ok(singleFlights.stream()
+                .map(singleFlight -> SingleFlightStatsDto.builder()
+                        .name(singleFlight.getName())
+                        .loadCount(singleFlight.loadCount())
+                        .coalescedCount(singleFlight.coalescedCount())
+                        .build())
+                .toList());
+    }
+
+    private NearCacheStatsDto toDto(NearCache<?> nearCache) {
+        CacheStats stats = nearCache.stats();
+        return NearCacheStatsDto.builder()
+                .name(nearCache.getName())
+                .size(nearCache.size())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.nasor.postsapi.cache.infraestructure.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+@Builder
+@Schema(description = "Hit, miss and eviction counters of an in-process near cache.")
+public record NearCacheStatsDto(
+        @Schema(description = "Cache name", example = "posts")
+        String name,
+
+        @Schema(description = "Approximate number of entries currently held", example = "842")
+        long size,
+
+        @Schema(description = "Number of lookups served from the near cache", example = "120034")
+        long hitCount,
+
+        @Schema(description = "Number of lookups that had to go to Redis or the database", example = "2311")
+        long missCount,
+
+        @Schema(description = "Ratio of hits to lookups", example = "0.98")
+        double hitRate,
+
+        @Schema(description = "Number of entries evicted because of size or age", example = "17")
+        long evictionCount
+) {
+}
@@ -0,0 +1,18 @@
+package com.nasor.postsapi.cache.infraestructure.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+@Builder
+@Schema(description = "Load counters of a single-flight loader.")
+public record SingleFlightStatsDto(
+        @Schema(description = "Loader name", example = "posts")
+        String name,
+
+        @Schema(description = "Number of loads that went to Redis or the database", example = "2311")
+        long loadCount,
+
+        @Schema(description = "Number of callers that waited for an in-flight load instead of starting their own", example = "540")
+        long coalescedCount
+) {
+}
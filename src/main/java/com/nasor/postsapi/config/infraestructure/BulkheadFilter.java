@@ -0,0 +1,60 @@
+package com.nasor.postsapi.config.infraestructure;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of requests that run at the same time. With virtual threads
+ * Tomcat no longer bounds concurrency through its worker pool, so without this
+ * every request in flight would queue on HikariCP and time out there instead.
+ * Requests that cannot get a permit within {@code maxWait} are rejected with
+ * 503.
+ */
+@Slf4j
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final Duration maxWait;
+
+    public BulkheadFilter(BulkheadProperties properties) {
+        this.permits = new Semaphore(properties.maxConcurrentRequests(), true);
+        this.maxWait = properties.maxWait();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+
+        if (!acquired) {
+            log.warn("Rejected {} {}: no bulkhead permit within {}", request.getMethod(), request.getRequestURI(), maxWait);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.nasor.postsapi.config.infraestructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.bulkhead")
+public record BulkheadProperties(
+        @DefaultValue("200") int maxConcurrentRequests,
+        @DefaultValue("1s") Duration maxWait
+) {
+}
@@ -0,0 +1,31 @@
+package com.nasor.postsapi.config.infraestructure;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Builds strong entity tags from the fields a representation is rendered from,
+ * so a conditional request can be answered without rendering the body.
+ */
+public final class ETags {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final byte SEPARATOR = 0x1f;
+
+    private ETags() {
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the given parts, as a hex string without quotes.
+     */
+    public static String of(Object... parts) {
+        long hash = FNV_OFFSET_BASIS;
+        for (Object part : parts) {
+            for (byte b : String.valueOf(part).getBytes(StandardCharsets.UTF_8)) {
+                hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+            }
+            hash = (hash ^ SEPARATOR) * FNV_PRIME;
+        }
+        return Long.toHexString(hash);
+    }
+}
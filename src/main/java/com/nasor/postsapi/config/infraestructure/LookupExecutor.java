@@ -0,0 +1,67 @@
+package com.nasor.postsapi.config.infraestructure;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool for the cache and database lookups that services run
+ * concurrently. When the queue is full the lookup runs on the caller's thread,
+ * so load degrades to sequential lookups instead of failing. With
+ * {@code spring.threads.virtual.enabled=true} every lookup gets its own
+ * virtual thread instead, and the request bulkhead is what bounds them. Every
+ * future completes exceptionally with a
+ * {@link java.util.concurrent.TimeoutException} after {@code app.lookup.timeout}.
+ */
+@Component
+@EnableConfigurationProperties(LookupExecutorProperties.class)
+public class LookupExecutor {
+
+    private final ExecutorService executor;
+    private final Duration timeout;
+
+    public LookupExecutor(LookupExecutorProperties properties, Environment environment) {
+        this.executor = Threading.VIRTUAL.isActive(environment)
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("lookup-", 1).factory())
+                : platformExecutor(properties);
+        this.timeout = properties.timeout();
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> lookup) {
+        return CompletableFuture.supplyAsync(ReadYourWrites.propagate(lookup), executor)
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static ExecutorService platformExecutor(LookupExecutorProperties properties) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                properties.poolSize(), properties.poolSize(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "lookup-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,14 @@
+package com.nasor.postsapi.config.infraestructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.lookup")
+public record LookupExecutorProperties(
+        @DefaultValue("16") int poolSize,
+        @DefaultValue("500") int queueCapacity,
+        @DefaultValue("2s") Duration timeout
+) {
+}
@@ -0,0 +1,66 @@
+package com.nasor.postsapi.config.infraestructure;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Only active when {@code app.read-replicas.urls} is set. Replaces the
+ * auto-configured data source with one that sends
+ * {@code @Transactional(readOnly = true)} work to the replicas and everything
+ * else to the primary. Every pool takes its settings from
+ * {@code spring.datasource.hikari.*}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.read-replicas", name = "urls")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaConfig {
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, ReadReplicaProperties replicaProperties,
+                                 Environment environment) {
+        HikariDataSource primary = hikari(dataSourceProperties.initializeDataSourceBuilder(), environment, "primary");
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaProperties.urls().size(); i++) {
+            DataSourceBuilder<?> builder = dataSourceProperties.initializeDataSourceBuilder().url(replicaProperties.urls().get(i));
+            if (replicaProperties.username() != null) {
+                builder.username(replicaProperties.username()).password(replicaProperties.password());
+            }
+            HikariDataSource replica = hikari(builder, environment, "replica-" + (i + 1));
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+
+        return ReplicaRoutingDataSource.readOnlyRouting(primary, replicas);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter() {
+        return new ReadYourWritesFilter();
+    }
+
+    @Bean
+    public TransactionExecutionListener readYourWritesListener() {
+        return ReadYourWrites.commitListener();
+    }
+
+    private static HikariDataSource hikari(DataSourceBuilder<?> builder, Environment environment, String poolName) {
+        HikariDataSource dataSource = builder.type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(poolName);
+        return dataSource;
+    }
+}
@@ -0,0 +1,18 @@
+package com.nasor.postsapi.config.infraestructure;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * JDBC URLs of the read replicas. The primary's credentials are used unless
+ * {@code username} is set.
+ */
+@ConfigurationProperties(prefix = "app.read-replicas")
+public record ReadReplicaProperties(
+        @DefaultValue List<String> urls,
+        String username,
+        String password
+) {
+}
@@ -0,0 +1,79 @@
+package com.nasor.postsapi.config.infraestructure;
+
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Remembers whether the current request has committed a write, so that its
+ * later read-only transactions go to the primary instead of a replica that
+ * may not have replayed the write yet. The flag lives for one request and
+ * follows the request's lookups onto the {@link LookupExecutor} threads.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<AtomicBoolean> WRITTEN = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static void open() {
+        WRITTEN.set(new AtomicBoolean());
+    }
+
+    public static void close() {
+        WRITTEN.remove();
+    }
+
+    public static void markWritten() {
+        AtomicBoolean written = WRITTEN.get();
+        if (written != null) {
+            written.set(true);
+        }
+    }
+
+    public static boolean hasWritten() {
+        AtomicBoolean written = WRITTEN.get();
+        return written != null && written.get();
+    }
+
+    /**
+     * Wraps {@code task} so it runs with the calling thread's request flag.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        AtomicBoolean written = WRITTEN.get();
+        if (written == null) {
+            return task;
+        }
+
+        return () -> {
+            AtomicBoolean previous = WRITTEN.get();
+            WRITTEN.set(written);
+            try {
+                return task.get();
+            } finally {
+                if (previous == null) {
+                    WRITTEN.remove();
+                } else {
+                    WRITTEN.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * Marks the request as written once a read-write transaction commits.
+     */
+    public static TransactionExecutionListener commitListener() {
+        return new TransactionExecutionListener() {
+            @Override
+            public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+                if (commitFailure == null && !transaction.isReadOnly()) {
+                    markWritten();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.nasor.postsapi.config.infraestructure;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Only active with {@code spring.threads.virtual.enabled=true}. Spring Boot then
+ * runs Tomcat requests, {@code @Async} work and streaming responses on virtual
+ * threads; this adds the bulkhead that replaces the platform pool's implicit
+ * concurrency limit.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@EnableConfigurationProperties(BulkheadProperties.class)
+public class VirtualThreadConfig {
+
+    @Bean
+    public BulkheadFilter bulkheadFilter(BulkheadProperties properties) {
+        return new BulkheadFilter(properties);
+    }
+}
@@ -0,0 +1,165 @@
+package com.nasor.postsapi.post.application;
+
+import com.nasor.postsapi.cache.infraestructure.CacheSyncProperties;
+import com.nasor.postsapi.cache.infraestructure.NearCache;
+import com.nasor.postsapi.post.domain.Post;
+import com.nasor.postsapi.post.domain.PostChangedEvent;
+import com.nasor.postsapi.post.infraestructure.repository.RedisPostRepositoryImpl;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Applies committed post writes to Redis off the request thread.
+ * <p>
+ * Updates and deletes evict this replica's near cache entry as soon as their
+ * transaction has committed, on the committing thread, so the writer does not
+ * read its own stale value while the event waits in the queue. That eviction
+ * is local only: the committing thread never talks to Redis, and the event is
+ * queued whether or not Redis is reachable. Once the change is in Redis the
+ * worker broadcasts the invalidation to every replica, dropping any copy
+ * reloaded in between, and a failed broadcast is retried with the rest of the
+ * batch. A single worker drains
+ * the events in batches of {@code app.cache-sync.batch-size}. Within a batch
+ * only the last event per post is applied, creates, updates and deletes each
+ * as one batched write, and a failed batch is retried with exponential
+ * backoff up to {@code app.cache-sync.max-attempts} times. Events
+ * that are dropped (full queue, exhausted retries or a crash before the worker
+ * caught up) leave at most a stale entry that expires with
+ * {@code app.cache.post-ttl}.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(CacheSyncProperties.class)
+public class PostCacheSynchronizer {
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(5);
+
+    private final RedisPostRepositoryImpl cachedPostRepository;
+    private final NearCache<Post> postNearCache;
+    private final CacheSyncProperties properties;
+    private final BlockingQueue<PostChangedEvent> queue;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    public PostCacheSynchronizer(RedisPostRepositoryImpl cachedPostRepository, NearCache<Post> postNearCache,
+                                 CacheSyncProperties properties) {
+        this.cachedPostRepository = cachedPostRepository;
+        this.postNearCache = postNearCache;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        this.worker = new Thread(this::drain, "post-cache-sync");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.type() != PostChangedEvent.Type.CREATED) {
+            postNearCache.invalidateLocal(event.postId());
+        }
+        if (!queue.offer(event)) {
+            log.warn("Cache sync queue is full, dropping {} of post {}", event.type(), event.postId());
+        }
+    }
+
+    private void drain() {
+        List<PostChangedEvent> batch = new ArrayList<>(properties.batchSize());
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch, properties.batchSize() - 1);
+            applyWithRetry(batch);
+            batch.clear();
+        }
+
+        queue.drainTo(batch);
+        if (!batch.isEmpty()) {
+            apply(batch);
+        }
+    }
+
+    private void applyWithRetry(List<PostChangedEvent> batch) {
+        long backoffMillis = properties.retryBackoff().toMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                apply(batch);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= properties.maxAttempts() || !running) {
+                    log.error("Giving up on syncing {} post changes to the cache after {} attempts", batch.size(), attempt, e);
+                    return;
+                }
+                log.warn("Syncing {} post changes to the cache failed, attempt {} of {}", batch.size(), attempt, properties.maxAttempts(), e);
+            }
+            try {
+                Thread.sleep(backoffMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            backoffMillis *= 2;
+        }
+    }
+
+    void apply(List<PostChangedEvent> batch) {
+        Collection<PostChangedEvent> latest = latestPerPost(batch);
+
+        List<Post> created = new ArrayList<>();
+        List<Post> updated = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        for (PostChangedEvent event : latest) {
+            switch (event.type()) {
+                case CREATED -> created.add(event.post());
+                case UPDATED -> updated.add(event.post());
+                case DELETED -> deletedIds.add(event.postId());
+            }
+        }
+        if (!created.isEmpty()) {
+            cachedPostRepository.saveAllNew(created);
+        }
+        if (!updated.isEmpty()) {
+            cachedPostRepository.saveAllUpdated(updated);
+        }
+        if (!deletedIds.isEmpty()) {
+            cachedPostRepository.deleteAllById(deletedIds);
+        }
+
+        latest.stream()
+                .filter(event -> event.type() != PostChangedEvent.Type.CREATED)
+                .forEach(event -> postNearCache.invalidate(event.postId()));
+    }
+
+    private static Collection<PostChangedEvent> latestPerPost(List<PostChangedEvent> batch) {
+        Map<Long, PostChangedEvent> latest = new LinkedHashMap<>();
+        for (PostChangedEvent event : batch) {
+            PostChangedEvent previous = latest.remove(event.postId());
+            boolean createdInBatch = previous != null && previous.type() == PostChangedEvent.Type.CREATED;
+            latest.put(event.postId(), createdInBatch && event.type() == PostChangedEvent.Type.UPDATED
+                    ? PostChangedEvent.created(event.post())
+                    : event);
+        }
+        return latest.values();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(SHUTDOWN_TIMEOUT);
+    }
+}
@@ -1,120 +1,400 @@
 package com.nasor.postsapi.post.application;
 
+import com.nasor.postsapi.cache.infraestructure.CacheEntry;
+import com.nasor.postsapi.cache.infraestructure.EarlyRefresh;
+import com.nasor.postsapi.cache.infraestructure.NearCache;
+import com.nasor.postsapi.cache.infraestructure.RedisCacheProperties;
+import com.nasor.postsapi.cache.infraestructure.SingleFlight;
+import com.nasor.postsapi.config.infraestructure.LookupExecutor;
 import com.nasor.postsapi.post.domain.Post;
+import com.nasor.postsapi.post.domain.PostChangedEvent;
+import com.nasor.postsapi.post.domain.PostCursor;
+import com.nasor.postsapi.post.domain.PostPage;
+import com.nasor.postsapi.post.domain.PostSearchIndex;
+import com.nasor.postsapi.post.domain.PostSearchResult;
 import com.nasor.postsapi.post.domain.PostService;
+import com.nasor.postsapi.post.infraestructure.metrics.PostMetrics;
 import com.nasor.postsapi.post.infraestructure.repository.PostPostgresRepository;
 import com.nasor.postsapi.post.infraestructure.repository.RedisPostRepositoryImpl;
-import com.nasor.postsapi.user.domain.UserRepository;
+import com.nasor.postsapi.post.infraestructure.repository.RedisPostRepositoryImpl.TimelineSlice;
+import com.nasor.postsapi.user.domain.User;
+import com.nasor.postsapi.user.domain.UserService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.nasor.postsapi.post.infraestructure.metrics.PostMetrics.FIND_BY_ID;
+import static com.nasor.postsapi.post.infraestructure.metrics.PostMetrics.FIND_PAGE;
+import static com.nasor.postsapi.post.infraestructure.metrics.PostMetrics.FIND_PAGE_BY_USER_ID;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PostServiceImpl implements PostService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int EXPORT_CHUNK_SIZE = 500;
+    private static final String GLOBAL_TIMELINE = "all";
+
     private final PostPostgresRepository postRepository;
-    private final UserRepository userRepository;
+    private final UserService userService;
     private final RedisPostRepositoryImpl cachedPostRepository;
+    private final NearCache<Post> postNearCache;
+    private final LookupExecutor lookupExecutor;
+    private final SingleFlight<Long, Boolean> postRefreshes;
+    private final SingleFlight<Long, List<PostCursor>> timelineLoads;
+    private final SingleFlight<String, List<PostCursor>> globalTimelineLoads;
+    private final EarlyRefresh postEarlyRefresh;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PostMetrics postMetrics;
+    private final PostSearchIndex postSearchIndex;
+    private final RedisCacheProperties cacheProperties;
 
     @Override
-    public List<Post> findAll() {
-        List<Post> posts = cachedPostRepository.findAll();
+    public Optional<Post> findById(Long id) {
+        return postNearCache.get(id, this::loadById);
+    }
 
-        if (!posts.isEmpty()) {
-            log.info("Found {} posts", posts.size());
-            return posts;
+    private Optional<Post> loadById(Long id) {
+        Optional<CacheEntry<Post>> cachedEntry = postMetrics.timeRedis(FIND_BY_ID, () -> cachedPostRepository.findEntryById(id));
+
+        if (cachedEntry.isPresent()) {
+            postMetrics.hit(FIND_BY_ID);
+            log.debug("Found {} post", id);
+            if (postEarlyRefresh.shouldRefresh(cachedEntry.get().timeToLive())) {
+                refreshInBackground(id);
+            }
+            return Optional.of(cachedEntry.get().value());
         }
 
-        posts = postRepository.findAll();
-        if (!posts.isEmpty()) {
-            cachedPostRepository.saveAll(posts);
+        Optional<Post> loadedPost = postMetrics.timePostgres(FIND_BY_ID, () -> postRepository.findById(id));
+        if (loadedPost.isEmpty()) {
+            postMetrics.fallthrough(FIND_BY_ID);
+            throw new EntityNotFoundException("Post with id " + id + " not found");
         }
 
-        log.info("Found {} posts in db", posts.size());
+        Post post = loadedPost.get();
+        postMetrics.miss(FIND_BY_ID);
+        cachedPostRepository.save(post);
+        log.debug("Found {} post", id);
 
-        return posts;
+        return Optional.of(post);
+    }
+
+    /**
+     * Reloads a post that is about to expire from Redis while readers keep being
+     * served the cached copy. Concurrent refreshes of the same post collapse
+     * into one.
+     */
+    private void refreshInBackground(Long id) {
+        lookupExecutor.supply(() -> postRefreshes.load(id, key -> {
+                    Optional<Post> post = postRepository.findById(key);
+                    post.ifPresent(refreshed -> cachedPostRepository.saveAll(List.of(refreshed)));
+                    log.debug("Refreshed post {} ahead of expiry", key);
+                    return post.isPresent();
+                }))
+                .exceptionally(e -> {
+                    log.warn("Early refresh of post {} failed", id, e);
+                    return false;
+                });
     }
 
     @Override
-    public Optional<Post> findById(Long id) {
-        Optional<Post> optionalPost = cachedPostRepository.findById(id);
+    public void exportAll(Consumer<List<Post>> chunkConsumer) {
+        postRepository.forEachChunk(EXPORT_CHUNK_SIZE, chunkConsumer);
+    }
 
-        if (optionalPost.isPresent()) {
-            log.info("Found {} post", id);
-            return optionalPost;
-        }
+    /**
+     * Serves the page from the global timeline in Redis, the same way author
+     * pages are served from theirs, and reads the authors of the page in one
+     * bulk lookup. Pages the timeline can not answer are read from the
+     * database together with their authors.
+     */
+    @Override
+    public PostPage findPage(PostCursor after, int limit) {
+        int pageSize = clampPageSize(limit);
+        Long afterId = after == null ? null : after.getId();
 
-        Post post = postRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Post with id " + id + " not found"));
+        Optional<TimelineSlice> cachedSlice = postMetrics.timeRedis(FIND_PAGE,
+                () -> cachedPostRepository.findGlobalTimeline(afterId, pageSize + 1));
+        TimelineSlice slice = cachedSlice.orElseGet(() -> materializeGlobalTimeline().after(afterId, pageSize + 1));
 
-        cachedPostRepository.save(post);
-        log.info("Found {} post", id);
+        Optional<List<Post>> timelinePosts = slice.containsCursor()
+                ? findTimelinePage(FIND_PAGE, null, after, pageSize + 1, slice)
+                : Optional.empty();
+        if (cachedSlice.isPresent() && timelinePosts.isPresent()) {
+            postMetrics.hit(FIND_PAGE);
+        } else {
+            postMetrics.miss(FIND_PAGE);
+        }
+        if (timelinePosts.isPresent()) {
+            PostPage page = toPage(timelinePosts.get(), pageSize);
+            Set<Long> authorIds = page.getPosts().stream().map(Post::getUserId).collect(Collectors.toSet());
+            page.setAuthors(userService.findAllByIds(authorIds).stream()
+                    .collect(Collectors.toMap(User::getId, Function.identity())));
+            return page;
+        }
 
-        return Optional.of(post);
+        PostPage rows = postMetrics.timePostgres(FIND_PAGE, () -> postRepository.findPage(after, pageSize + 1));
+
+        PostPage page = toPage(rows.getPosts(), pageSize);
+        page.setAuthors(rows.getAuthors());
+        return page;
     }
 
+    /**
+     * Serves the page from the author's timeline in Redis. A cold timeline is
+     * materialized first and the page is cut from the entries just read, so a
+     * first read costs the timeline query and no page query. An unknown user
+     * is rejected before that, so it costs neither. Pages the timeline can not
+     * answer go to the database.
+     */
     @Override
-    public List<Post> findAllByUserId(Long id) {
+    public PostPage findPageByUserId(Long userId, PostCursor after, int limit) {
+        int pageSize = clampPageSize(limit);
+        Long afterId = after == null ? null : after.getId();
+
+        Optional<TimelineSlice> cachedSlice = postMetrics.timeRedis(FIND_PAGE_BY_USER_ID,
+                () -> cachedPostRepository.findTimeline(userId, afterId, pageSize + 1));
+        TimelineSlice slice = cachedSlice.orElseGet(() -> {
+            userService.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+            return materializeTimeline(userId).after(afterId, pageSize + 1);
+        });
 
-        List<Post> posts = cachedPostRepository.findAllByUserId(id);
-        if (!posts.isEmpty()) {
-            log.info("Found {} posts in database", posts.size());
-            return posts;
+        Optional<List<Post>> timelinePosts = slice.containsCursor()
+                ? findTimelinePage(FIND_PAGE_BY_USER_ID, userId, after, pageSize + 1, slice)
+                : Optional.empty();
+        if (cachedSlice.isPresent() && timelinePosts.isPresent()) {
+            postMetrics.hit(FIND_PAGE_BY_USER_ID);
+        } else {
+            postMetrics.miss(FIND_PAGE_BY_USER_ID);
         }
+        if (timelinePosts.isPresent()) {
+            return toPage(timelinePosts.get(), pageSize);
+        }
+
+        List<Post> posts = postMetrics.timePostgres(FIND_PAGE_BY_USER_ID, () -> postRepository.findPageByUserId(userId, after, pageSize + 1));
+        return toPage(posts, pageSize);
+    }
+
+    /**
+     * Reads the posts of a timeline slice with one pipelined MGET. The slice
+     * is from the timeline of {@code userId}, or from the global timeline when
+     * {@code userId} is null. Posts no longer cached are read back by id; ids
+     * that turn out to be deleted or moved to another author are pruned and
+     * the page is left to the database. A capped timeline that runs out before
+     * the page is full is continued from the database.
+     */
+    private Optional<List<Post>> findTimelinePage(String operation, Long userId, PostCursor after, int count, TimelineSlice slice) {
+        List<Long> ids = slice.postIds();
+        List<Post> posts = postMetrics.timeRedis(operation, () -> cachedPostRepository.findValuesByIds(ids));
 
-        if (userRepository.findById(id).isEmpty()) {
-            throw new RuntimeException("User not found");
+        List<Long> missingIds = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (posts.get(i) == null) {
+                missingIds.add(ids.get(i));
+            }
+        }
+        if (!missingIds.isEmpty()) {
+            List<Post> loadedPosts = postMetrics.timePostgres(operation, () -> postRepository.findAllByIds(missingIds));
+            cachedPostRepository.saveAll(loadedPosts);
+            loadedPosts.forEach(post -> posts.set(ids.indexOf(post.getId()), post));
+        }
+
+        List<Long> staleIds = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (posts.get(i) == null || (userId != null && !Objects.equals(posts.get(i).getUserId(), userId))) {
+                staleIds.add(ids.get(i));
+            }
+        }
+        if (!staleIds.isEmpty()) {
+            if (userId == null) {
+                cachedPostRepository.removeFromGlobalTimeline(staleIds);
+            } else {
+                cachedPostRepository.removeFromTimeline(userId, staleIds);
+            }
+            return Optional.empty();
         }
 
-        posts =  postRepository.findAllByUserId(id);
-        if (!posts.isEmpty()) {
-            cachedPostRepository.saveAll(posts);
-            log.info("Loaded {} posts for user {} from DB and cached them.", posts.size(), id);
-        }else{
-            log.info("No posts found for user {} in DB.", id);
+        if (posts.size() < count && slice.capped()) {
+            PostCursor tail = posts.isEmpty() ? after : PostCursor.of(posts.get(posts.size() - 1));
+            int remaining = count - posts.size();
+            posts.addAll(postMetrics.timePostgres(operation, () -> userId == null
+                    ? postRepository.findPage(tail, remaining).getPosts()
+                    : postRepository.findPageByUserId(userId, tail, remaining)));
         }
-        return posts;
+        return Optional.of(posts);
+    }
+
+    /**
+     * Reads the author's newest posts from the index and stores them as their
+     * timeline. Concurrent cold reads of the same author share one
+     * materialization. Authors without posts get no timeline in Redis.
+     */
+    private TimelineSlice materializeTimeline(Long userId) {
+        int size = cacheProperties.timelineSize();
+        List<PostCursor> entries = timelineLoads.load(userId, key -> {
+            List<PostCursor> loaded = postMetrics.timePostgres(FIND_PAGE_BY_USER_ID, () -> postRepository.findTimelineByUserId(key, size));
+            if (!loaded.isEmpty()) {
+                cachedPostRepository.saveTimeline(key, loaded, loaded.size() >= size);
+            }
+            log.debug("Materialized the timeline of user {} with {} posts", key, loaded.size());
+            return loaded;
+        });
+
+        return new TimelineSlice(entries.stream().map(PostCursor::getId).toList(), entries.size() >= size, true);
+    }
+
+    /**
+     * Reads the newest posts of all authors from the index and stores them as
+     * the global timeline. Concurrent cold reads share one materialization.
+     * Unlike an author timeline it is stored even when empty, since there is
+     * only one.
+     */
+    private TimelineSlice materializeGlobalTimeline() {
+        int size = cacheProperties.globalTimelineSize();
+        List<PostCursor> entries = globalTimelineLoads.load(GLOBAL_TIMELINE, key -> {
+            List<PostCursor> loaded = postMetrics.timePostgres(FIND_PAGE, () -> postRepository.findTimeline(size));
+            cachedPostRepository.saveGlobalTimeline(loaded, loaded.size() >= size);
+            log.debug("Materialized the global timeline with {} posts", loaded.size());
+            return loaded;
+        });
+
+        return new TimelineSlice(entries.stream().map(PostCursor::getId).toList(), entries.size() >= size, true);
+    }
+
+    @Override
+    public CompletableFuture<PostPage> findPageByUserIdAsync(Long userId, PostCursor after, int limit) {
+        return lookupExecutor.supply(() -> findPageByUserId(userId, after, limit));
     }
 
     @Override
-    public Post save(Post post) {
-        if (userRepository.findById(post.getUserId()).isEmpty()) {
-            throw new RuntimeException("User not found");
+    public PostSearchResult search(String query, int offset, int limit) {
+        if (query == null || query.isBlank()) {
+            return PostSearchResult.builder().posts(List.of()).build();
         }
 
-        Post savedPost = postRepository.save(post);
+        int pageSize = clampPageSize(limit);
+        int from = Math.max(0, offset);
+        List<Long> ids = postSearchIndex.search(query, from, pageSize + 1);
+        boolean hasMore = ids.size() > pageSize;
+
+        return PostSearchResult.builder()
+                .posts(postRepository.findAllByIds(hasMore ? ids.subList(0, pageSize) : ids))
+                .nextOffset(hasMore ? from + pageSize : null)
+                .build();
+    }
+
+    private int clampPageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    private PostPage toPage(List<Post> posts, int pageSize) {
+        if (posts.size() <= pageSize) {
+            return PostPage.builder().posts(posts).build();
+        }
+
+        List<Post> page = posts.subList(0, pageSize);
+        return PostPage.builder()
+                .posts(page)
+                .nextCursor(PostCursor.of(page.get(pageSize - 1)))
+                .build();
+    }
 
-        cachedPostRepository.save(savedPost);
+    @Override
+    @Transactional
+    public Post save(Post post, User author) {
+        post.setUserId(author.getId());
+
+        Post savedPost = postRepository.save(post);
 
+        eventPublisher.publishEvent(PostChangedEvent.created(savedPost));
 
         return savedPost;
     }
 
     @Override
-    public Post update(Post post) {
-        if (userRepository.findById(post.getUserId()).isEmpty()) {
-            throw new RuntimeException("User not found");
+    @Transactional
+    public List<Post> saveAll(List<Post> posts) {
+        if (posts.isEmpty()) {
+            return List.of();
+        }
+
+        Set<Long> authorIds = posts.stream().map(Post::getUserId).collect(Collectors.toSet());
+        Set<Long> existingAuthorIds = userService.findAllByIds(authorIds).stream().map(User::getId).collect(Collectors.toSet());
+        authorIds.removeAll(existingAuthorIds);
+        if (!authorIds.isEmpty()) {
+            throw new RuntimeException("User not found: " + authorIds);
+        }
+
+        List<Post> savedPosts = postRepository.saveAll(posts);
+
+        savedPosts.forEach(savedPost -> eventPublisher.publishEvent(PostChangedEvent.created(savedPost)));
+        log.debug("Imported a chunk of {} posts", savedPosts.size());
+
+        return savedPosts;
+    }
+
+    /**
+     * Updates the post with one conditional UPDATE. Without a version from the
+     * caller, the version of the cached post is used and, if that turns out to
+     * be stale, the update is retried once against the version in the database.
+     * A caller-supplied version that is no longer current is a conflict. The
+     * current post is only read, from the near cache, Redis or the database,
+     * so the request thread writes nothing to Redis.
+     */
+    @Override
+    @Transactional
+    public Post update(Post post, User author) {
+        post.setUserId(author.getId());
+
+        Long expectedVersion = post.getVersion();
+        Post current = postNearCache.getIfPresent(post.getId())
+                .or(() -> cachedPostRepository.findById(post.getId()))
+                .or(() -> postRepository.findById(post.getId()))
+                .orElseThrow(() -> new RuntimeException("Post not found"));
+        if (expectedVersion == null) {
+            post.setVersion(current.getVersion());
+        }
+
+        Optional<Post> updatedPost = post.getVersion() == null ? Optional.empty() : postRepository.updateIfVersion(post);
+        if (updatedPost.isEmpty()) {
+            current = postRepository.findById(post.getId()).orElseThrow(() -> new RuntimeException("Post not found"));
+            if (expectedVersion != null) {
+                throw new OptimisticLockingFailureException("Post " + post.getId() + " is at version " + current.getVersion() + ", not " + expectedVersion);
+            }
+            post.setVersion(current.getVersion());
+            updatedPost = postRepository.updateIfVersion(post);
         }
 
-        Post updatedPost = postRepository.update(post);
+        Post updated = updatedPost.orElseThrow(() -> new OptimisticLockingFailureException("Post " + post.getId() + " was modified concurrently"));
+        updated.setCreatedDate(current.getCreatedDate());
 
-        cachedPostRepository.save(updatedPost);
+        eventPublisher.publishEvent(PostChangedEvent.updated(updated));
 
-        return updatedPost;
+        return updated;
     }
 
     @Override
+    @Transactional
     public void delete(Long id) {
-        if (postRepository.findById(id).isEmpty()) {
+        if (!postRepository.deleteById(id)) {
             throw new RuntimeException("Post not found");
         }
-        postRepository.deleteById(id);
-        cachedPostRepository.deleteById(id);
+        eventPublisher.publishEvent(PostChangedEvent.deleted(id));
     }
 }
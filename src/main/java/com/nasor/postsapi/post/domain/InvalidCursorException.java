@@ -0,0 +1,12 @@
+package com.nasor.postsapi.post.domain;
+
+/**
+ * Thrown when a page token sent by a client can not be read back as a
+ * {@link PostCursor}.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String token, Throwable cause) {
+        super("Invalid cursor: " + token, cause);
+    }
+}
@@ -14,5 +14,6 @@ public class Post {
     private Long userId;
     private LocalDateTime createdDate;
     private LocalDateTime updatedDate;
+    private Long version;
 }
 
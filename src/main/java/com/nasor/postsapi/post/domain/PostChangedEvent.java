@@ -0,0 +1,24 @@
+package com.nasor.postsapi.post.domain;
+
+/**
+ * Published by the post service for every committed write. {@code post} is the
+ * state after the write, or null for deletions.
+ */
+public record PostChangedEvent(Type type, Long postId, Post post) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static PostChangedEvent created(Post post) {
+        return new PostChangedEvent(Type.CREATED, post.getId(), post);
+    }
+
+    public static PostChangedEvent updated(Post post) {
+        return new PostChangedEvent(Type.UPDATED, post.getId(), post);
+    }
+
+    public static PostChangedEvent deleted(Long postId) {
+        return new PostChangedEvent(Type.DELETED, postId, null);
+    }
+}
@@ -0,0 +1,25 @@
+package com.nasor.postsapi.post.domain;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keyset position inside a post listing. Listings are ordered by
+ * {@code createdDate} descending with {@code id} as tie-breaker, so a page
+ * continues strictly after this (createdDate, id) pair.
+ */
+@Data
+@Builder
+public class PostCursor {
+    private LocalDateTime createdDate;
+    private Long id;
+
+    public static PostCursor of(Post post) {
+        return PostCursor.builder()
+                .createdDate(post.getCreatedDate())
+                .id(post.getId())
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.nasor.postsapi.post.domain;
+
+import com.nasor.postsapi.user.domain.User;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+public class PostPage {
+    private List<Post> posts;
+    private PostCursor nextCursor;
+    /**
+     * Authors of the posts by id, when they were read together with the page.
+     */
+    private Map<Long, User> authors;
+}
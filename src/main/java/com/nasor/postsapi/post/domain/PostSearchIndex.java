@@ -0,0 +1,12 @@
+package com.nasor.postsapi.post.domain;
+
+import java.util.List;
+
+public interface PostSearchIndex {
+
+    /**
+     * Returns the ids of the posts whose title or content match every word of
+     * {@code query}, best match first, skipping the first {@code offset}.
+     */
+    List<Long> search(String query, int offset, int limit);
+}
@@ -0,0 +1,13 @@
+package com.nasor.postsapi.post.domain;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class PostSearchResult {
+    private List<Post> posts;
+    private Integer nextOffset;
+}
@@ -1,18 +1,30 @@
 package com.nasor.postsapi.post.domain;
 
+import com.nasor.postsapi.user.domain.User;
+
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface PostService {
-    List<Post> findAll();
-
     Optional<Post> findById(Long id);
 
-    List<Post> findAllByUserId(Long id);
+    void exportAll(Consumer<List<Post>> chunkConsumer);
+
+    PostPage findPage(PostCursor after, int limit);
+
+    PostPage findPageByUserId(Long userId, PostCursor after, int limit);
+
+    CompletableFuture<PostPage> findPageByUserIdAsync(Long userId, PostCursor after, int limit);
+
+    PostSearchResult search(String query, int offset, int limit);
+
+    Post save(Post post, User author);
 
-    Post save(Post post);
+    List<Post> saveAll(List<Post> posts);
 
-    Post update(Post post);
+    Post update(Post post, User author);
 
     void delete(Long id);
 }
@@ -0,0 +1,148 @@
+package com.nasor.postsapi.post.infraestructure.codec;
+
+import com.nasor.postsapi.post.domain.Post;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Fixed-layout binary encoding of a post:
+ * <pre>
+ * format:u8 flags:u8 id:i64 userId:i64
+ * [createdDate: seconds:i64 nanos:i32] [updatedDate: seconds:i64 nanos:i32]
+ * titleLength:i32 title:utf8
+ * contentLength:i32 [rawContentLength:i32] content:utf8|lz4
+ * </pre>
+ * Dates are written as UTC epoch seconds plus nanos and are only present when
+ * their flag is set. Content of at least {@code compressionThreshold} bytes is
+ * LZ4 compressed, if that actually makes it smaller.
+ */
+public class BinaryPostCodec implements PostCodec {
+
+    private static final byte FORMAT = 1;
+    private static final int HAS_CREATED_DATE = 1;
+    private static final int HAS_UPDATED_DATE = 1 << 1;
+    private static final int COMPRESSED_CONTENT = 1 << 2;
+
+    private static final int HEADER_LENGTH = 2 + Long.BYTES * 2;
+    private static final int DATE_LENGTH = Long.BYTES + Integer.BYTES;
+
+    private final int compressionThreshold;
+    private final LZ4Compressor compressor;
+    private final LZ4FastDecompressor decompressor;
+
+    /**
+     * @param compressionThreshold content size in bytes from which LZ4 is tried;
+     *                             zero or negative disables compression
+     */
+    public BinaryPostCodec(int compressionThreshold) {
+        LZ4Factory factory = LZ4Factory.fastestInstance();
+        this.compressionThreshold = compressionThreshold;
+        this.compressor = factory.fastCompressor();
+        this.decompressor = factory.fastDecompressor();
+    }
+
+    @Override
+    public byte[] encode(Post post) {
+        byte[] title = post.getTitle().getBytes(StandardCharsets.UTF_8);
+        byte[] content = post.getContent().getBytes(StandardCharsets.UTF_8);
+        int flags = 0;
+        int rawContentLength = content.length;
+
+        if (compressionThreshold > 0 && content.length >= compressionThreshold) {
+            byte[] compressed = compress(content);
+            if (compressed.length + Integer.BYTES < content.length) {
+                content = compressed;
+                flags |= COMPRESSED_CONTENT;
+            }
+        }
+        if (post.getCreatedDate() != null) {
+            flags |= HAS_CREATED_DATE;
+        }
+        if (post.getUpdatedDate() != null) {
+            flags |= HAS_UPDATED_DATE;
+        }
+
+        int length = HEADER_LENGTH
+                + ((flags & HAS_CREATED_DATE) != 0 ? DATE_LENGTH : 0)
+                + ((flags & HAS_UPDATED_DATE) != 0 ? DATE_LENGTH : 0)
+                + Integer.BYTES + title.length
+                + Integer.BYTES + ((flags & COMPRESSED_CONTENT) != 0 ? Integer.BYTES : 0) + content.length;
+
+        ByteBuffer buffer = ByteBuffer.allocate(length)
+                .put(FORMAT)
+                .put((byte) flags)
+                .putLong(post.getId())
+                .putLong(post.getUserId());
+        if ((flags & HAS_CREATED_DATE) != 0) {
+            putDate(buffer, post.getCreatedDate());
+        }
+        if ((flags & HAS_UPDATED_DATE) != 0) {
+            putDate(buffer, post.getUpdatedDate());
+        }
+        buffer.putInt(title.length).put(title);
+        buffer.putInt(content.length);
+        if ((flags & COMPRESSED_CONTENT) != 0) {
+            buffer.putInt(rawContentLength);
+        }
+        buffer.put(content);
+
+        return buffer.array();
+    }
+
+    @Override
+    public Post decode(byte[] bytes, int offset) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, bytes.length - offset);
+        byte format = buffer.get();
+        if (format != FORMAT) {
+            throw new IllegalArgumentException("Unsupported post encoding " + format);
+        }
+        int flags = buffer.get();
+
+        Post.PostBuilder post = Post.builder()
+                .id(buffer.getLong())
+                .userId(buffer.getLong());
+        if ((flags & HAS_CREATED_DATE) != 0) {
+            post.createdDate(getDate(buffer));
+        }
+        if ((flags & HAS_UPDATED_DATE) != 0) {
+            post.updatedDate(getDate(buffer));
+        }
+
+        int titleLength = buffer.getInt();
+        post.title(new String(bytes, buffer.position(), titleLength, StandardCharsets.UTF_8));
+        buffer.position(buffer.position() + titleLength);
+
+        int contentLength = buffer.getInt();
+        if ((flags & COMPRESSED_CONTENT) != 0) {
+            int rawContentLength = buffer.getInt();
+            byte[] content = new byte[rawContentLength];
+            decompressor.decompress(bytes, buffer.position(), content, 0, rawContentLength);
+            post.content(new String(content, StandardCharsets.UTF_8));
+        } else {
+            post.content(new String(bytes, buffer.position(), contentLength, StandardCharsets.UTF_8));
+        }
+
+        return post.build();
+    }
+
+    private byte[] compress(byte[] content) {
+        byte[] compressed = new byte[compressor.maxCompressedLength(content.length)];
+        int compressedLength = compressor.compress(content, 0, content.length, compressed, 0, compressed.length);
+        return Arrays.copyOf(compressed, compressedLength);
+    }
+
+    private static void putDate(ByteBuffer buffer, LocalDateTime date) {
+        buffer.putLong(date.toEpochSecond(ZoneOffset.UTC)).putInt(date.getNano());
+    }
+
+    private static LocalDateTime getDate(ByteBuffer buffer) {
+        return LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,21 @@
+package com.nasor.postsapi.post.infraestructure.codec;
+
+import com.nasor.postsapi.post.domain.Post;
+
+/**
+ * Encodes a post as the single value stored under its Redis key.
+ */
+public interface PostCodec {
+
+    byte[] encode(Post post);
+
+    default Post decode(byte[] bytes) {
+        return decode(bytes, 0);
+    }
+
+    /**
+     * Decodes a post that starts at {@code offset}, so callers that frame the
+     * encoding with a header of their own do not have to copy it out first.
+     */
+    Post decode(byte[] bytes, int offset);
+}
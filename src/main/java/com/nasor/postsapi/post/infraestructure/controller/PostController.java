@@ -1,17 +1,28 @@
 package com.nasor.postsapi.post.infraestructure.controller;
 
+import com.nasor.postsapi.post.infraestructure.dto.PostBulkCreateResponseDto;
+import com.nasor.postsapi.post.infraestructure.dto.PostPageResponseDto;
 import com.nasor.postsapi.post.infraestructure.dto.PostResponseDto;
 import com.nasor.postsapi.post.infraestructure.dto.PostRegisterRequestDto;
+import com.nasor.postsapi.post.infraestructure.dto.PostSearchResponseDto;
 import com.nasor.postsapi.post.infraestructure.dto.PostUpdateRequestDto;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 public interface PostController {
     ResponseEntity<PostResponseDto> createPost(PostRegisterRequestDto postRegisterRequestDto);
+    ResponseEntity<PostBulkCreateResponseDto> createPosts(List<PostRegisterRequestDto> postRegisterRequestDtos);
+    ResponseEntity<PostBulkCreateResponseDto> createPostsFromNdjson(InputStream body) throws IOException;
     ResponseEntity<PostResponseDto> updatePost(Long id, PostUpdateRequestDto postUpdateRequestDto);
-    ResponseEntity<List<PostResponseDto>> getPostsByUserId(Long userId);
-    ResponseEntity<PostResponseDto> getPostById(Long postId);
+    ResponseEntity<PostPageResponseDto> getPostsByUserId(Long userId, String cursor, int limit);
+    ResponseEntity<PostResponseDto> getPostById(Long postId, WebRequest request);
     ResponseEntity<Void> deletePost(Long id);
-    ResponseEntity<List<PostResponseDto>> getAllPosts();
+    ResponseEntity<PostPageResponseDto> getAllPosts(String cursor, int limit);
+    ResponseEntity<PostSearchResponseDto> searchPosts(String query, int offset, int limit);
+    ResponseEntity<StreamingResponseBody> exportPosts();
 }
@@ -1,28 +1,57 @@
 package com.nasor.postsapi.post.infraestructure.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.nasor.postsapi.post.domain.Post;
+import com.nasor.postsapi.post.domain.PostCursor;
+import com.nasor.postsapi.post.domain.PostPage;
+import com.nasor.postsapi.post.domain.PostSearchResult;
 import com.nasor.postsapi.post.domain.PostService;
+import com.nasor.postsapi.post.infraestructure.dto.PostBulkCreateResponseDto;
+import com.nasor.postsapi.post.infraestructure.dto.PostPageResponseDto;
 import com.nasor.postsapi.post.infraestructure.dto.PostRegisterRequestDto;
 import com.nasor.postsapi.post.infraestructure.dto.PostResponseDto;
+import com.nasor.postsapi.post.infraestructure.dto.PostSearchResponseDto;
 import com.nasor.postsapi.post.infraestructure.dto.PostUpdateRequestDto;
 import com.nasor.postsapi.post.infraestructure.mapper.PostMapper;
+import com.nasor.postsapi.post.infraestructure.metrics.PostMetrics;
 import com.nasor.postsapi.user.domain.User;
 import com.nasor.postsapi.user.domain.UserService;
+import com.nasor.postsapi.user.infraestructure.dto.UserDto;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RestController
@@ -30,9 +59,15 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Tag(name = "Posts", description = "Operations related to blog posts")
 public class PostControllerImpl implements PostController {
+    private static final String DEFAULT_PAGE_SIZE = "20";
+    private static final int IMPORT_CHUNK_SIZE = 500;
+
     private final PostService postService;
     private final PostMapper postMapper;
     private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final PostMetrics postMetrics;
 
     @Override
     @Operation(summary = "Create a new post", description = "Creates a new post associated with an existing user.")
@@ -61,7 +96,7 @@ public class PostControllerImpl implements PostController {
 
         Post post = postMapper.registerPostToPost(postRegisterRequestDto, existingUser.getId());
 
-        Post createdPost = postService.save(post);
+        Post createdPost = postService.save(post, existingUser);
 
         URI location = ServletUriComponentsBuilder
                 .fromCurrentRequest()
@@ -71,6 +106,99 @@ public class PostControllerImpl implements PostController {
         return ResponseEntity.created(location).body(postMapper.postToDto(createdPost, existingUser));
     }
 
+    @Override
+    @Operation(summary = "Create posts in bulk", description = "Creates many posts from a JSON array. Posts are inserted in chunks of " + IMPORT_CHUNK_SIZE + "; each chunk is committed on its own.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Posts created successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PostBulkCreateResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input or missing required fields."),
+            @ApiResponse(responseCode = "404", description = "User not found for one of the userIds."),
+            @ApiResponse(responseCode = "500", description = "Internal server error.")
+    })
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PostBulkCreateResponseDto> createPosts(
+            @RequestBody
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Posts to create. Every userId must belong to an existing user.",
+                    required = true,
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = PostRegisterRequestDto.class))))
+            List<PostRegisterRequestDto> postRegisterRequestDtos) {
+        int created = 0;
+        for (int from = 0; from < postRegisterRequestDtos.size(); from += IMPORT_CHUNK_SIZE) {
+            created += importChunk(postRegisterRequestDtos.subList(from, Math.min(from + IMPORT_CHUNK_SIZE, postRegisterRequestDtos.size())));
+        }
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(new PostBulkCreateResponseDto(created));
+    }
+
+    @Override
+    @Operation(summary = "Create posts in bulk from NDJSON", description = "Creates many posts from a newline-delimited JSON body, one post per line. The body is streamed and imported in chunks of " + IMPORT_CHUNK_SIZE + "; each chunk is committed on its own.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Posts created successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PostBulkCreateResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input or missing required fields."),
+            @ApiResponse(responseCode = "404", description = "User not found for one of the userIds."),
+            @ApiResponse(responseCode = "500", description = "Internal server error.")
+    })
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<PostBulkCreateResponseDto> createPostsFromNdjson(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "One post per line. Every userId must belong to an existing user.",
+                    required = true,
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = PostRegisterRequestDto.class)))
+            InputStream body) throws IOException {
+        int created = 0;
+        List<PostRegisterRequestDto> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        try (MappingIterator<PostRegisterRequestDto> lines = objectMapper.readerFor(PostRegisterRequestDto.class).readValues(body)) {
+            while (lines.hasNextValue()) {
+                chunk.add(lines.nextValue());
+                if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                    created += importChunk(chunk);
+                    chunk.clear();
+                }
+            }
+        }
+        created += importChunk(chunk);
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(new PostBulkCreateResponseDto(created));
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new RuntimeException("Lookup timed out", e.getCause());
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private int importChunk(List<PostRegisterRequestDto> postRegisterRequestDtos) {
+        if (postRegisterRequestDtos.isEmpty()) {
+            return 0;
+        }
+
+        List<Post> posts = postRegisterRequestDtos.stream()
+                .map(postRegisterRequestDto -> {
+                    Set<ConstraintViolation<PostRegisterRequestDto>> violations = validator.validate(postRegisterRequestDto);
+                    if (!violations.isEmpty()) {
+                        throw new ConstraintViolationException(violations);
+                    }
+                    return postMapper.registerPostToPost(postRegisterRequestDto, postRegisterRequestDto.userId());
+                })
+                .collect(Collectors.toList());
+
+        return postService.saveAll(posts).size();
+    }
+
     @Override
     @Operation(summary = "Update an existing post", description = "Updates the details of an existing post by its ID. The associated user cannot be changed directly via this endpoint.")
     @ApiResponses(value = {
@@ -81,6 +209,7 @@ public class PostControllerImpl implements PostController {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(example = "{\"error\": \"Validation Error\", \"message\": \"Content must be at least 10 characters.\"}"))),
             @ApiResponse(responseCode = "404", description = "Post or User not found."),
+            @ApiResponse(responseCode = "409", description = "The given version is no longer the current version of the post."),
             @ApiResponse(responseCode = "500", description = "Internal server error.")
     })
     @PutMapping("/{id}")
@@ -95,63 +224,78 @@ public class PostControllerImpl implements PostController {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = PostUpdateRequestDto.class)))
             PostUpdateRequestDto postUpdateRequestDto) {
+        User existingUser = userService.findById(postUpdateRequestDto.userId())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
         Post updatedPost = postService.update(Post.builder()
                     .id(id)
-                    .userId(postUpdateRequestDto.userId())
                     .title(postUpdateRequestDto.title())
                     .content(postUpdateRequestDto.content())
-                .build());
-
-        User existingUser = userService.findById(postUpdateRequestDto.userId())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+                    .version(postUpdateRequestDto.version())
+                .build(), existingUser);
 
         return ResponseEntity.ok(postMapper.postToDto(updatedPost, existingUser));
     }
 
     @Override
-    @Operation(summary = "Get posts by user ID", description = "Retrieves a list of posts associated with a specific user ID.")
+    @Operation(summary = "Get posts by user ID", description = "Retrieves a page of posts associated with a specific user ID, newest first.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "List of posts retrieved successfully.",
+            @ApiResponse(responseCode = "200", description = "Page of posts retrieved successfully.",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = PostResponseDto.class))),
+                            schema = @Schema(implementation = PostPageResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Malformed cursor."),
             @ApiResponse(responseCode = "404", description = "User not found for the given userId."),
             @ApiResponse(responseCode = "500", description = "Internal server error.")
     })
     @GetMapping("/user/{id}")
-    public ResponseEntity<List<PostResponseDto>> getPostsByUserId(
+    public ResponseEntity<PostPageResponseDto> getPostsByUserId(
             @Parameter(description = "ID of the user to retrieve posts for.", required = true)
-            @PathVariable Long id) {
-        User  existingUser = userService.findById(id)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+            @PathVariable Long id,
+            @Parameter(description = "Opaque cursor returned by the previous page. Omit to start from the newest post.")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of posts to return (1-100).", example = "20")
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+        PostCursor after = postMapper.tokenToCursor(cursor);
 
-        List<Post> posts = postService.findAllByUserId(id);
+        PostPageResponseDto response = await(userService.findByIdAsync(id)
+                .thenCombine(postService.findPageByUserIdAsync(id, after, limit), (user, page) -> {
+                    UserDto author = postMapper.userToAuthorDto(user.orElseThrow(() -> new RuntimeException("User not found")));
 
-        List<PostResponseDto> response = posts
-                .stream()
-                .map(post -> postMapper.postToDto(post, existingUser))
-                .toList();
+                    List<PostResponseDto> items = postMetrics.timeMapping(() -> page.getPosts()
+                            .stream()
+                            .map(post -> postMapper.postToDto(post, author))
+                            .toList());
+
+                    return new PostPageResponseDto(items, postMapper.cursorToToken(page.getNextCursor()));
+                }));
 
         return ResponseEntity.ok(response);
     }
 
     @Override
-    @Operation(summary = "Get post by ID", description = "Retrieves a single post by its unique ID.")
+    @Operation(summary = "Get post by ID", description = "Retrieves a single post by its unique ID. The response carries a strong ETag; send it back in If-None-Match to get a 304 when the post and its author are unchanged.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Post retrieved successfully.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = PostResponseDto.class))),
+            @ApiResponse(responseCode = "304", description = "Post not modified since the given ETag."),
             @ApiResponse(responseCode = "404", description = "Post not found for the given ID."),
             @ApiResponse(responseCode = "500", description = "Internal server error.")
     })
     @GetMapping("/{id}")
     public ResponseEntity<PostResponseDto> getPostById(
             @Parameter(description = "ID of the post to retrieve.", required = true)
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest request) {
         Post post = postService.findById(id).orElseThrow(() -> new RuntimeException("Post not found"));
+        User author = userService.findById(post.getUserId()).orElseThrow(() -> new RuntimeException("User not found"));
 
-        User userPost = userService.findById(post.getUserId()).orElseThrow(() -> new RuntimeException("User not found"));
+        String eTag = postMapper.postToETag(post, author);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
 
-        return ResponseEntity.ok(postMapper.postToDto(post, userPost));
+        return ResponseEntity.ok().eTag(eTag).body(postMetrics.timeMapping(() -> postMapper.postToDto(post, author)));
     }
 
     @Override
@@ -170,26 +314,97 @@ public class PostControllerImpl implements PostController {
     }
 
     @Override
-    @Operation(summary = "Get all posts", description = "Retrieves a list of all posts present in the system.")
+    @Operation(summary = "Get all posts", description = "Retrieves a page of posts present in the system, newest first.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved list of all posts.",
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved a page of posts.",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = PostResponseDto.class))),
+                            schema = @Schema(implementation = PostPageResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Malformed cursor."),
             @ApiResponse(responseCode = "500", description = "Internal server error.")
     })
     @GetMapping
-    public ResponseEntity<List<PostResponseDto>> getAllPosts() {
-        return ResponseEntity.ok(
-                postService.findAll().stream()
-                        .map(
-                                post -> postMapper
-                                        .postToDto(
-                                                post,
-                                                userService.findById(post.getUserId())
-                                                        .orElse(null)
-                                        )
-                        )
-                        .collect(Collectors.toList())
-        );
+    public ResponseEntity<PostPageResponseDto> getAllPosts(
+            @Parameter(description = "Opaque cursor returned by the previous page. Omit to start from the newest post.")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of posts to return (1-100).", example = "20")
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+        PostPage page = postService.findPage(postMapper.tokenToCursor(cursor), limit);
+        Map<Long, User> authors = page.getAuthors();
+
+        List<PostResponseDto> items = postMetrics.timeMapping(() -> page.getPosts().stream()
+                .map(post -> postMapper.postToDto(post, authors.get(post.getUserId())))
+                .collect(Collectors.toList()));
+
+        return ResponseEntity.ok(new PostPageResponseDto(items, postMapper.cursorToToken(page.getNextCursor())));
+    }
+
+    @Override
+    @Operation(summary = "Search posts", description = "Full-text search over post titles and contents. Every word must match; quoted phrases, \"or\" and -word are supported. Results are ranked, best match first, with title matches weighing more than content matches.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching posts retrieved successfully.",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PostSearchResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Missing search query."),
+            @ApiResponse(responseCode = "500", description = "Internal server error.")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<PostSearchResponseDto> searchPosts(
+            @Parameter(description = "Words to search for.", required = true, example = "redis cache")
+            @RequestParam("q") String query,
+            @Parameter(description = "Number of matches to skip, as returned in nextOffset.", example = "0")
+            @RequestParam(defaultValue = "0") int offset,
+            @Parameter(description = "Maximum number of posts to return (1-100).", example = "20")
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit) {
+        PostSearchResult result = postService.search(query, offset, limit);
+
+        Set<Long> authorIds = result.getPosts().stream()
+                .map(Post::getUserId)
+                .collect(Collectors.toSet());
+
+        Map<Long, User> authors = userService.findAllByIds(authorIds)
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<PostResponseDto> items = postMetrics.timeMapping(() -> result.getPosts().stream()
+                .map(post -> postMapper.postToDto(post, authors.get(post.getUserId())))
+                .collect(Collectors.toList()));
+
+        return ResponseEntity.ok(new PostSearchResponseDto(items, result.getNextOffset()));
+    }
+
+    @Override
+    @Operation(summary = "Export all posts", description = "Streams every post as newline-delimited JSON, one post per line, ordered by ID. The response is written as posts are read, so it can be used for full exports.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Posts streamed successfully.",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = PostResponseDto.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error.")
+    })
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPosts() {
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(outputStream)) {
+                postService.exportAll(posts -> {
+                    Set<Long> authorIds = posts.stream()
+                            .map(Post::getUserId)
+                            .collect(Collectors.toSet());
+
+                    Map<Long, User> authors = userService.findAllByIds(authorIds)
+                            .stream()
+                            .collect(Collectors.toMap(User::getId, Function.identity()));
+
+                    try {
+                        for (Post post : posts) {
+                            writer.write(postMapper.postToDto(post, authors.get(post.getUserId())));
+                        }
+                        writer.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 }
@@ -0,0 +1,12 @@
+package com.nasor.postsapi.post.infraestructure.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+@Builder
+@Schema(description = "Result of a bulk post import.")
+public record PostBulkCreateResponseDto(
+        @Schema(description = "Number of posts created", example = "1000")
+        int created
+) {
+}
@@ -0,0 +1,17 @@
+package com.nasor.postsapi.post.infraestructure.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+@Schema(description = "A page of posts ordered from newest to oldest.")
+public record PostPageResponseDto(
+        @Schema(description = "Posts in this page")
+        List<PostResponseDto> items,
+
+        @Schema(description = "Opaque cursor for the next page, null when there are no more posts", example = "MjAyNS0wNy0yNlQxNDozMDowMHwxMDE")
+        String nextCursor
+) {
+}
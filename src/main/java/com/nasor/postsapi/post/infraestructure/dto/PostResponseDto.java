@@ -24,6 +24,9 @@ public record PostResponseDto(
         LocalDateTime createdAt,
 
         @Schema(description = "Timestamp when the post was last updated", example = "2025-07-26T15:00:00")
-        LocalDateTime updatedAt
+        LocalDateTime updatedAt,
+
+        @Schema(description = "Version of the post, to send back with an update", example = "3")
+        Long version
 ) {
 }
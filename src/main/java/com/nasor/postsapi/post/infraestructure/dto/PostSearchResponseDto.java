@@ -0,0 +1,17 @@
+package com.nasor.postsapi.post.infraestructure.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+@Schema(description = "A page of posts matching a search, best match first.")
+public record PostSearchResponseDto(
+        @Schema(description = "Posts in this page")
+        List<PostResponseDto> items,
+
+        @Schema(description = "Offset of the next page, null when there are no more matches", example = "20")
+        Integer nextOffset
+) {
+}
@@ -20,6 +20,9 @@ public record PostUpdateRequestDto(
         @Schema(description = "Content of the post", example = "This is the updated content of my first blog post. It's even more amazing now!", requiredMode = Schema.RequiredMode.REQUIRED)
         @NotBlank(message = "Content required.")
         @Size(min = 10, message = "Content must be at least 10 characters")
-        String content
+        String content,
+
+        @Schema(description = "Version the update is based on. If it is no longer current the update is rejected with 409; omit it to overwrite whatever is current.", example = "3")
+        Long version
 ) {
 }
@@ -1,23 +0,0 @@
-package com.nasor.postsapi.post.infraestructure.entity;
-
-import jakarta.persistence.Id;
-import lombok.Builder;
-import lombok.Data;
-import org.springframework.data.redis.core.RedisHash;
-
-import java.io.Serializable;
-import java.time.LocalDateTime;
-
-@RedisHash("Post")
-@Data
-@Builder
-public class PostCacheEntity implements Serializable {
-    @Id
-    private Long id;
-    private String title;
-    private String content;
-    private Long authorId;
-    private LocalDateTime createdAt;
-    private LocalDateTime updatedAt;
-}
-
@@ -0,0 +1,18 @@
+package com.nasor.postsapi.post.infraestructure.entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a post row for list queries. It is built straight
+ * from the result set and never enters the persistence context.
+ */
+public record PostRow(
+        Long id,
+        String title,
+        String content,
+        Long authorId,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long version
+) {
+}
@@ -0,0 +1,13 @@
+package com.nasor.postsapi.post.infraestructure.entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * Position of a post in a timeline: just the keyset columns, read straight
+ * from the feed indexes without touching the post contents.
+ */
+public record PostTimelineRow(
+        Long id,
+        LocalDateTime createdAt
+) {
+}
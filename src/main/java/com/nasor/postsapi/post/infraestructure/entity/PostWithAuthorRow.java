@@ -0,0 +1,22 @@
+package com.nasor.postsapi.post.infraestructure.entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * {@link PostRow} joined with the author columns the responses need, so a
+ * page of posts and its authors come back in one query.
+ */
+public record PostWithAuthorRow(
+        Long id,
+        String title,
+        String content,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long version,
+        Long authorId,
+        String authorFirstName,
+        String authorLastName,
+        String authorEmail,
+        Long authorVersion
+) {
+}
@@ -1,24 +1,39 @@
 package com.nasor.postsapi.post.infraestructure.mapper;
 
 import com.nasor.postsapi.post.domain.Post;
+import com.nasor.postsapi.post.domain.PostCursor;
 import com.nasor.postsapi.post.infraestructure.dto.PostRegisterRequestDto;
 import com.nasor.postsapi.post.infraestructure.dto.PostResponseDto;
-import com.nasor.postsapi.post.infraestructure.entity.PostCacheEntity;
 import com.nasor.postsapi.post.infraestructure.entity.PostEntity;
+import com.nasor.postsapi.post.infraestructure.entity.PostRow;
+import com.nasor.postsapi.post.infraestructure.entity.PostWithAuthorRow;
 import com.nasor.postsapi.user.domain.User;
+import com.nasor.postsapi.user.infraestructure.dto.UserDto;
 import com.nasor.postsapi.user.infraestructure.entity.UserEntity;
 
 public interface PostMapper {
 
     Post entityToPost(PostEntity postEntity);
 
+    Post rowToPost(PostRow postRow);
+
+    Post rowToPost(PostWithAuthorRow postRow);
+
+    User rowToAuthor(PostWithAuthorRow postRow);
+
     PostEntity postToEntity(Post post, UserEntity userEntity);
 
     PostResponseDto postToDto(Post post, User user);
 
+    PostResponseDto postToDto(Post post, UserDto author);
+
+    UserDto userToAuthorDto(User user);
+
+    String postToETag(Post post, User user);
+
     Post registerPostToPost(PostRegisterRequestDto requestDto, Long userId);
 
-    Post postCacheEntityToPost(PostCacheEntity postCacheEntity);
+    String cursorToToken(PostCursor cursor);
 
-    PostCacheEntity postToCacheEntity(Post post);
+    PostCursor tokenToCursor(String token);
 }
@@ -1,20 +1,30 @@
 package com.nasor.postsapi.post.infraestructure.mapper;
 
+import com.nasor.postsapi.config.infraestructure.ETags;
+import com.nasor.postsapi.post.domain.InvalidCursorException;
 import com.nasor.postsapi.post.domain.Post;
+import com.nasor.postsapi.post.domain.PostCursor;
 import com.nasor.postsapi.post.infraestructure.dto.PostRegisterRequestDto;
 import com.nasor.postsapi.post.infraestructure.dto.PostResponseDto;
-import com.nasor.postsapi.post.infraestructure.entity.PostCacheEntity;
 import com.nasor.postsapi.post.infraestructure.entity.PostEntity;
+import com.nasor.postsapi.post.infraestructure.entity.PostRow;
+import com.nasor.postsapi.post.infraestructure.entity.PostWithAuthorRow;
 import com.nasor.postsapi.user.domain.User;
 import com.nasor.postsapi.user.infraestructure.dto.UserDto;
 import com.nasor.postsapi.user.infraestructure.entity.UserEntity;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
 @Service
 @RequiredArgsConstructor
 public class PostMapperImpl implements PostMapper {
 
+    private static final String CURSOR_SEPARATOR = "|";
 
     @Override
     public Post entityToPost(PostEntity postEntity) {
@@ -25,6 +35,44 @@ public class PostMapperImpl implements PostMapper {
                 .title(postEntity.getTitle())
                 .createdDate(postEntity.getCreatedAt())
                 .updatedDate(postEntity.getUpdatedAt())
+                .version(postEntity.getVersion())
+                .build();
+    }
+
+    @Override
+    public Post rowToPost(PostRow postRow) {
+        return Post.builder()
+                .id(postRow.id())
+                .userId(postRow.authorId())
+                .content(postRow.content())
+                .title(postRow.title())
+                .createdDate(postRow.createdAt())
+                .updatedDate(postRow.updatedAt())
+                .version(postRow.version())
+                .build();
+    }
+
+    @Override
+    public Post rowToPost(PostWithAuthorRow postRow) {
+        return Post.builder()
+                .id(postRow.id())
+                .userId(postRow.authorId())
+                .content(postRow.content())
+                .title(postRow.title())
+                .createdDate(postRow.createdAt())
+                .updatedDate(postRow.updatedAt())
+                .version(postRow.version())
+                .build();
+    }
+
+    @Override
+    public User rowToAuthor(PostWithAuthorRow postRow) {
+        return User.builder()
+                .id(postRow.authorId())
+                .firstName(postRow.authorFirstName())
+                .lastName(postRow.authorLastName())
+                .email(postRow.authorEmail())
+                .version(postRow.authorVersion())
                 .build();
     }
 
@@ -35,25 +83,41 @@ public class PostMapperImpl implements PostMapper {
                 .author(userEntity)
                 .content(post.getContent())
                 .title(post.getTitle())
+                .version(post.getVersion())
                 .build();
     }
 
     @Override
     public PostResponseDto postToDto(Post post, User user) {
+        return postToDto(post, userToAuthorDto(user));
+    }
+
+    @Override
+    public PostResponseDto postToDto(Post post, UserDto author) {
         return PostResponseDto.builder()
                 .id(post.getId())
                 .content(post.getContent())
-                .user(
-                        new UserDto(user.getId(),
-                                user.getFirstName() + " " + user.getLastName(),
-                                user.getEmail())
-                )
+                .user(author)
                 .title(post.getTitle())
                 .createdAt(post.getCreatedDate())
                 .updatedAt(post.getUpdatedDate())
+                .version(post.getVersion())
                 .build();
     }
 
+    @Override
+    public UserDto userToAuthorDto(User user) {
+        return new UserDto(user.getId(),
+                user.getFirstName() + " " + user.getLastName(),
+                user.getEmail(),
+                user.getVersion());
+    }
+
+    @Override
+    public String postToETag(Post post, User user) {
+        return ETags.of(post.getId(), post.getVersion(), user.getId(), user.getVersion());
+    }
+
     @Override
     public Post registerPostToPost(PostRegisterRequestDto requestDto, Long userId) {
         return Post.builder()
@@ -64,27 +128,28 @@ public class PostMapperImpl implements PostMapper {
     }
 
     @Override
-    public Post postCacheEntityToPost(PostCacheEntity postCacheEntity) {
-        return Post.builder()
-                .id(postCacheEntity.getId())
-                .userId(postCacheEntity.getAuthorId())
-                .content(postCacheEntity.getContent())
-                .title(postCacheEntity.getTitle())
-                .createdDate(postCacheEntity.getCreatedAt())
-                .updatedDate(postCacheEntity.getUpdatedAt())
-                .build();
+    public String cursorToToken(PostCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        String raw = cursor.getCreatedDate() + CURSOR_SEPARATOR + cursor.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
     }
 
     @Override
-    public PostCacheEntity postToCacheEntity(Post post) {
-        return PostCacheEntity.builder()
-                .id(post.getId())
-                .authorId(post.getUserId())
-                .content(post.getContent())
-                .title(post.getTitle())
-                .createdAt(post.getCreatedDate())
-                .updatedAt(post.getUpdatedDate())
-                .build();
+    public PostCursor tokenToCursor(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(CURSOR_SEPARATOR);
+            return PostCursor.builder()
+                    .createdDate(LocalDateTime.parse(raw.substring(0, separator)))
+                    .id(Long.parseLong(raw.substring(separator + 1)))
+                    .build();
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidCursorException(token, e);
+        }
     }
-
 }
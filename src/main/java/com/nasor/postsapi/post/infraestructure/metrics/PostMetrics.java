@@ -0,0 +1,92 @@
+package com.nasor.postsapi.post.infraestructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Meters for the post read paths. For every operation, {@code posts.cache.requests}
+ * counts what the Redis lookup led to: a {@code hit}, a {@code miss} that was
+ * loaded from Postgres, or a {@code fallthrough} that missed in both (an unknown
+ * post or user). {@code posts.lookup} times the Redis and Postgres lookups
+ * separately, and {@code posts.mapping} times mapping posts to response DTOs.
+ * Requests are counted per Redis lookup: near cache hits and callers that join
+ * an in-flight load are reported by the near cache and single-flight meters.
+ */
+@Component
+public class PostMetrics {
+
+    public static final String FIND_BY_ID = "findById";
+    public static final String FIND_PAGE = "findPage";
+    public static final String FIND_PAGE_BY_USER_ID = "findPageByUserId";
+
+    private final Map<String, OperationMeters> operations;
+    private final Timer mapping;
+
+    public PostMetrics(MeterRegistry registry) {
+        this.operations = Stream.of(FIND_BY_ID, FIND_PAGE, FIND_PAGE_BY_USER_ID)
+                .collect(Collectors.toMap(Function.identity(), operation -> OperationMeters.register(registry, operation)));
+        this.mapping = Timer.builder("posts.mapping")
+                .description("Time spent mapping posts to response DTOs")
+                .register(registry);
+    }
+
+    public void hit(String operation) {
+        operations.get(operation).hits().increment();
+    }
+
+    public void miss(String operation) {
+        operations.get(operation).misses().increment();
+    }
+
+    public void fallthrough(String operation) {
+        operations.get(operation).fallthroughs().increment();
+    }
+
+    public <T> T timeRedis(String operation, Supplier<T> lookup) {
+        return operations.get(operation).redis().record(lookup);
+    }
+
+    public <T> T timePostgres(String operation, Supplier<T> lookup) {
+        return operations.get(operation).postgres().record(lookup);
+    }
+
+    public <T> T timeMapping(Supplier<T> mapper) {
+        return mapping.record(mapper);
+    }
+
+    private record OperationMeters(Counter hits, Counter misses, Counter fallthroughs, Timer redis, Timer postgres) {
+
+        static OperationMeters register(MeterRegistry registry, String operation) {
+            return new OperationMeters(
+                    requests(registry, operation, "hit"),
+                    requests(registry, operation, "miss"),
+                    requests(registry, operation, "fallthrough"),
+                    lookup(registry, operation, "redis"),
+                    lookup(registry, operation, "postgres"));
+        }
+
+        private static Counter requests(MeterRegistry registry, String operation, String result) {
+            return Counter.builder("posts.cache.requests")
+                    .description("Post reads by what the Redis lookup led to")
+                    .tag("operation", operation)
+                    .tag("result", result)
+                    .register(registry);
+        }
+
+        private static Timer lookup(MeterRegistry registry, String operation, String store) {
+            return Timer.builder("posts.lookup")
+                    .description("Latency of post lookups per store")
+                    .tag("operation", operation)
+                    .tag("store", store)
+                    .register(registry);
+        }
+    }
+}
@@ -1,17 +1,35 @@
 package com.nasor.postsapi.post.infraestructure.repository;
 
 import com.nasor.postsapi.post.domain.Post;
+import com.nasor.postsapi.post.domain.PostCursor;
+import com.nasor.postsapi.post.domain.PostPage;
 import com.nasor.postsapi.post.infraestructure.entity.PostEntity;
+import com.nasor.postsapi.post.infraestructure.entity.PostRow;
+import com.nasor.postsapi.post.infraestructure.entity.PostWithAuthorRow;
 import com.nasor.postsapi.post.infraestructure.mapper.PostMapper;
+import com.nasor.postsapi.user.domain.User;
 import com.nasor.postsapi.user.infraestructure.entity.UserEntity;
 import com.nasor.postsapi.user.infraestructure.repository.SpringUserRepository;
-import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
 @RequiredArgsConstructor
@@ -20,52 +38,162 @@ public class PostPostgresRepository{
     private final SpringPostRepository springPostRepository;
     private final SpringUserRepository springUserRepository;
     private final PostMapper postMapper;
+    private final Validator validator;
 
     @Transactional
     public Post save(Post post) {
-        UserEntity existingUser = springUserRepository.findById(post.getUserId()).
-                orElseThrow(() -> new RuntimeException("User not found"));
+        UserEntity author = springUserRepository.getReferenceById(post.getUserId());
 
-        PostEntity postEntity = postMapper.postToEntity(post, existingUser);
+        PostEntity postEntity = postMapper.postToEntity(post, author);
 
-        PostEntity savedPost = springPostRepository.save(postEntity);
+        PostEntity savedPost = springPostRepository.saveAndFlush(postEntity);
 
         return postMapper.entityToPost(savedPost);
     }
 
+    /**
+     * Inserts the posts through JDBC batches. Authors are only referenced by id,
+     * so they must have been validated by the caller.
+     */
     @Transactional
-    public Post update(Post post) {
-        PostEntity existingPostEntity = springPostRepository.findById(post.getId())
-                .orElseThrow(() -> new RuntimeException("Post not found with ID: " + post.getId()));
+    public List<Post> saveAll(List<Post> posts) {
+        List<PostEntity> postEntities = posts.stream()
+                .map(post -> postMapper.postToEntity(post, springUserRepository.getReferenceById(post.getUserId())))
+                .collect(Collectors.toList());
 
-        UserEntity newAuthorEntity = springUserRepository.findById(post.getUserId())
-                .orElseThrow(() -> new RuntimeException("User not found for ID: " + post.getUserId()));
-
-        existingPostEntity.setTitle(post.getTitle());
-        existingPostEntity.setContent(post.getContent());
-        existingPostEntity.setAuthor(newAuthorEntity);
-
-        PostEntity updatedPostEntity = springPostRepository.save(existingPostEntity);
+        return springPostRepository.saveAllAndFlush(postEntities).stream().map(postMapper::entityToPost).collect(Collectors.toList());
+    }
 
-        return postMapper.entityToPost(updatedPostEntity);
+    /**
+     * Updates the post with a single conditional statement instead of loading
+     * it first. Returns empty when the post does not exist or is no longer at
+     * {@code post.getVersion()}; on success the post comes back with its new
+     * version and update timestamp, but without {@code createdDate}.
+     */
+    @Transactional
+    public Optional<Post> updateIfVersion(Post post) {
+        UserEntity author = springUserRepository.getReferenceById(post.getUserId());
+
+        Set<ConstraintViolation<PostEntity>> violations = validator.validate(postMapper.postToEntity(post, author));
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+
+        LocalDateTime updatedAt = LocalDateTime.now();
+        int updated = springPostRepository.updateIfVersion(post.getId(), post.getVersion(),
+                post.getTitle(), post.getContent(), author, updatedAt);
+        if (updated == 0) {
+            return Optional.empty();
+        }
+
+        post.setUpdatedDate(updatedAt);
+        post.setVersion(post.getVersion() + 1);
+        return Optional.of(post);
     }
 
+    @Transactional(readOnly = true)
     public Optional<Post> findById(Long id) {
         return springPostRepository.findById(id).map(postMapper::entityToPost);
     }
 
-    public List<Post> findAll() {
-        return springPostRepository.findAll().stream().map(postMapper::entityToPost).collect(Collectors.toList());
+    /**
+     * Reads the given posts in the order of {@code ids}. Ids without a post are
+     * left out.
+     */
+    @Transactional(readOnly = true)
+    public List<Post> findAllByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Post> postsById = new HashMap<>();
+        springPostRepository.findRowsByIds(ids).forEach(row -> postsById.put(row.id(), postMapper.rowToPost(row)));
+
+        return ids.stream().map(postsById::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    /**
+     * Reads up to {@code limit} posts older than {@code after}, newest first,
+     * together with their authors in the same query. The returned page has no
+     * next cursor; that is up to the caller.
+     */
+    @Transactional(readOnly = true)
+    public PostPage findPage(PostCursor after, int limit) {
+        Pageable pageable = PageRequest.ofSize(limit);
+        List<PostWithAuthorRow> rows = after == null
+                ? springPostRepository.findPageWithAuthors(pageable)
+                : springPostRepository.findPageWithAuthorsBefore(after.getCreatedDate(), after.getId(), pageable);
+
+        Map<Long, User> authors = new HashMap<>();
+        rows.forEach(row -> authors.computeIfAbsent(row.authorId(), authorId -> postMapper.rowToAuthor(row)));
+
+        return PostPage.builder()
+                .posts(rows.stream().map(postMapper::rowToPost).collect(Collectors.toList()))
+                .authors(authors)
+                .build();
     }
 
-    public List<Post> findAllByUserId(Long userId) {
-        return springPostRepository.findAllByAuthorId(userId).stream().map(postMapper::entityToPost).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<Post> findPageByUserId(Long userId, PostCursor after, int limit) {
+        Pageable pageable = PageRequest.ofSize(limit);
+        List<PostRow> rows = after == null
+                ? springPostRepository.findPageByAuthorId(userId, pageable)
+                : springPostRepository.findPageByAuthorIdBefore(userId, after.getCreatedDate(), after.getId(), pageable);
+
+        return rows.stream().map(postMapper::rowToPost).collect(Collectors.toList());
+    }
+
+    /**
+     * Keyset positions of the newest {@code limit} posts of a user, newest
+     * first, without reading their contents.
+     */
+    @Transactional(readOnly = true)
+    public List<PostCursor> findTimelineByUserId(Long userId, int limit) {
+        return springPostRepository.findTimelineByAuthorId(userId, PageRequest.ofSize(limit)).stream()
+                .map(row -> PostCursor.builder().createdDate(row.createdAt()).id(row.id()).build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Keyset positions of the newest {@code limit} posts of all authors,
+     * newest first.
+     */
+    @Transactional(readOnly = true)
+    public List<PostCursor> findTimeline(int limit) {
+        return springPostRepository.findTimeline(PageRequest.ofSize(limit)).stream()
+                .map(row -> PostCursor.builder().createdDate(row.createdAt()).id(row.id()).build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Walks every post in id order through a forward-only cursor and hands them
+     * to {@code chunkConsumer} in chunks of {@code chunkSize}. Rows are read as
+     * projections that never enter the persistence context, so memory stays
+     * flat regardless of the table size.
+     */
+    @Transactional(readOnly = true)
+    public void forEachChunk(int chunkSize, Consumer<List<Post>> chunkConsumer) {
+        List<Post> chunk = new ArrayList<>(chunkSize);
+        try (Stream<PostRow> postRows = springPostRepository.streamAllRowsOrderById()) {
+            postRows.forEach(postRow -> {
+                chunk.add(postMapper.rowToPost(postRow));
+                if (chunk.size() == chunkSize) {
+                    chunkConsumer.accept(List.copyOf(chunk));
+                    chunk.clear();
+                }
+            });
+        }
+        if (!chunk.isEmpty()) {
+            chunkConsumer.accept(List.copyOf(chunk));
+        }
     }
 
-    public void deleteById(Long id) {
-        springPostRepository.deleteById(id);
+    @Transactional
+    public boolean deleteById(Long id) {
+        return springPostRepository.deleteByIdReturningCount(id) > 0;
     }
 
+    @Transactional(readOnly = true)
     public Optional<Long> findUserIdByPostId(Long postId) {
         return springPostRepository.findById(postId)
                 .map(PostEntity::getAuthor)
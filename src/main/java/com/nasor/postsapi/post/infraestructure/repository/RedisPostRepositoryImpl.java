@@ -1,54 +1,480 @@
 package com.nasor.postsapi.post.infraestructure.repository;
 
+import com.nasor.postsapi.cache.infraestructure.CacheEntry;
+import com.nasor.postsapi.cache.infraestructure.RedisCacheProperties;
 import com.nasor.postsapi.post.domain.Post;
-import com.nasor.postsapi.post.domain.PostRepository;
-import com.nasor.postsapi.post.infraestructure.entity.PostCacheEntity;
-import com.nasor.postsapi.post.infraestructure.mapper.PostMapper;
+import com.nasor.postsapi.post.domain.PostCursor;
+import com.nasor.postsapi.post.infraestructure.codec.PostCodec;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Repository;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
+/**
+ * Redis side of the post cache.
+ * <p>
+ * Every post is stored as a single value under {@code Post:value:{id}}: its
+ * version as a big-endian i64 followed by the encoding of the configured
+ * {@link PostCodec}. Writes go through a script that keeps the stored value
+ * if it is at a newer version, so a slow loader can not overwrite the result
+ * of a later update with the row it read before it. A deleted post leaves a
+ * tombstone in its place for {@code app.cache.post-tombstone-ttl}: a bare
+ * version of {@link Long#MAX_VALUE}, which no write is newer than, so a
+ * loader that read the row before the delete committed can not bring the
+ * post back. Reads treat a tombstone as a missing post.
+ * <p>
+ * Post values expire after {@code app.cache.post-ttl}. Every key this
+ * repository writes carries a TTL, so none of them outlives a
+ * {@code volatile-*} eviction policy.
+ * <p>
+ * Each author gets a timeline under {@code Post:timeline:{id}}: the ids of
+ * their newest {@code app.cache.timeline-size} posts, scored by creation time in
+ * microseconds, with ids zero-padded so ties order like the database keyset.
+ * It is materialized from the author index in Postgres and from then on kept
+ * in step by the write-through of creates, updates and deletes, so it always
+ * holds a contiguous run of the author's newest posts. {@code Post:timeline-state:{id}}
+ * marks it {@code full} when it holds every post of the author, or
+ * {@code capped} when older posts are only in the database. Both keys expire
+ * after {@code app.cache.timeline-ttl} without writes.
+ * <p>
+ * The newest {@code app.cache.global-timeline-size} posts of all authors form
+ * one more timeline, {@code Post:timeline:all}, with its state under
+ * {@code Post:timeline-state:all}. It is kept the same way, except that
+ * updates never touch it, since they change neither a post's creation time nor
+ * whether it exists.
+ */
 @RequiredArgsConstructor
 @Repository
-public class RedisPostRepositoryImpl implements PostRepository {
+public class RedisPostRepositoryImpl {
 
-    private final CachedPostRepository cachedPostRepository;
-    private final PostMapper postMapper;
+    private static final String KEYSPACE = "Post";
+    private static final String VALUE_PREFIX = KEYSPACE + ":value:";
+    private static final String TIMELINE_PREFIX = KEYSPACE + ":timeline:";
+    private static final String TIMELINE_STATE_PREFIX = KEYSPACE + ":timeline-state:";
+    private static final String GLOBAL_TIMELINE_KEY = TIMELINE_PREFIX + "all";
+    private static final String GLOBAL_TIMELINE_STATE_KEY = TIMELINE_STATE_PREFIX + "all";
+    private static final String TIMELINE_FULL = "full";
+    private static final String TIMELINE_CAPPED = "capped";
+    private static final int BATCH_SIZE = 500;
+    private static final long UNKNOWN_VERSION = -1;
+    private static final byte[] TOMBSTONE = ByteBuffer.allocate(Long.BYTES).putLong(Long.MAX_VALUE).array();
+
+    private static final byte[] WRITE_IF_NOT_OLDER_SCRIPT = """
+            local current = redis.call('GETRANGE', KEYS[1], 0, 7)
+            if #current == 8 and struct.unpack('>i8', current) > struct.unpack('>i8', ARGV[1]) then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            return 1
+            """.getBytes(StandardCharsets.UTF_8);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> READ_TIMELINE_SCRIPT = RedisScript.of("""
+            local state = redis.call('GET', KEYS[1])
+            if not state then
+                return {}
+            end
+            local start = 0
+            if ARGV[1] ~= '' then
+                local rank = redis.call('ZREVRANK', KEYS[2], ARGV[1])
+                if not rank then
+                    return {state, '0'}
+                end
+                start = rank + 1
+            end
+            local page = redis.call('ZREVRANGE', KEYS[2], start, start + tonumber(ARGV[2]) - 1)
+            table.insert(page, 1, '1')
+            table.insert(page, 1, state)
+            return page
+            """, List.class);
+
+    private static final RedisScript<Boolean> SAVE_TIMELINE_SCRIPT = RedisScript.of("""
+            for i = 4, #ARGV, 1000 do
+                redis.call('ZADD', KEYS[2], unpack(ARGV, i, math.min(i + 999, #ARGV)))
+            end
+            if ARGV[2] == 'capped' then
+                redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', '(' .. ARGV[3])
+            end
+            redis.call('PEXPIRE', KEYS[2], ARGV[1])
+            redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[1])
+            return 1
+            """, Boolean.class);
+
+    private static final byte[] ADD_TO_TIMELINE_SCRIPT = """
+            redis.call('ZADD', KEYS[2], ARGV[1], ARGV[2])
+            if redis.call('GET', KEYS[1]) == 'capped' and redis.call('ZRANK', KEYS[2], ARGV[2]) == 0 then
+                redis.call('ZREM', KEYS[2], ARGV[2])
+                return 0
+            end
+            if redis.call('ZCARD', KEYS[2]) > tonumber(ARGV[3]) then
+                redis.call('ZREMRANGEBYRANK', KEYS[2], 0, -tonumber(ARGV[3]) - 1)
+                redis.call('SET', KEYS[1], 'capped', 'XX', 'KEEPTTL')
+            end
+            redis.call('PEXPIRE', KEYS[2], ARGV[4])
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            return 1
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final StringRedisTemplate redisTemplate;
+    private final PostCodec postCodec;
+    private final RedisCacheProperties cacheProperties;
 
-    @Override
     public Post save(Post post) {
-        PostCacheEntity postCacheEntity = cachedPostRepository.save(postMapper.postToCacheEntity(post));
-        return postMapper.postCacheEntityToPost(postCacheEntity);
+        saveAll(List.of(post));
+        return post;
     }
 
-    @Override
-    public Optional<Post> findById(Long id) {
-        return cachedPostRepository.findById(id).map(postMapper::postCacheEntityToPost);
+    /**
+     * Write-through for committed updates. The previous values are read in one
+     * pipelined round-trip to find posts that may have moved to another author;
+     * those leave the previous author's timeline and are added to the new
+     * author's timeline at their creation time. A post whose previous value is
+     * not cached is added to its author's timeline too, which leaves it as it
+     * was if the post did not move. The writes then go out in one pipeline per
+     * {@value #BATCH_SIZE} posts.
+     */
+    public void saveAllUpdated(List<Post> posts) {
+        List<Post> previous = findValuesByIds(posts.stream().map(Post::getId).collect(Collectors.toList()));
+        byte[] size = bytes(Integer.toString(cacheProperties.timelineSize()));
+        byte[] ttl = bytes(Long.toString(cacheProperties.timelineTtl().toMillis()));
+
+        for (int from = 0; from < posts.size(); from += BATCH_SIZE) {
+            int start = from;
+            List<Post> batch = posts.subList(from, Math.min(from + BATCH_SIZE, posts.size()));
+            List<byte[]> values = batch.stream().map(this::encode).collect(Collectors.toList());
+
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int i = 0; i < batch.size(); i++) {
+                    Post post = batch.get(i);
+                    Post previousPost = previous.get(start + i);
+                    writePost(connection, post, values.get(i));
+                    if (previousPost == null || !post.getUserId().equals(previousPost.getUserId())) {
+                        if (post.getCreatedDate() == null) {
+                            connection.keyCommands().del(bytes(timelineStateKey(post.getUserId())));
+                        } else {
+                            addToTimeline(connection, timelineStateKey(post.getUserId()), timelineKey(post.getUserId()),
+                                    bytes(Long.toString(timelineScore(post.getCreatedDate()))), bytes(timelineMember(post.getId())), size, ttl);
+                        }
+                        if (previousPost != null) {
+                            connection.zSetCommands().zRem(bytes(timelineKey(previousPost.getUserId())), bytes(timelineMember(post.getId())));
+                        }
+                    }
+                }
+                return null;
+            });
+        }
     }
 
-    @Override
-    public List<Post> findAll() {
-        Iterable<PostCacheEntity> all = cachedPostRepository.findAll();
-        return StreamSupport.stream(all.spliterator(), false).map(postMapper::postCacheEntityToPost).collect(Collectors.toList());
+    public Optional<Post> findById(Long id) {
+        byte[] value = redisTemplate.execute((RedisCallback<byte[]>) connection ->
+                connection.stringCommands().get(bytes(postKey(id.toString()))));
+        return Optional.ofNullable(value).filter(RedisPostRepositoryImpl::isPost).map(this::decode);
     }
 
-    @Override
-    public List<Post> findAllByUserId(Long userId) {
-        Iterable<PostCacheEntity> all = cachedPostRepository.findAllByAuthorId(userId);
-        return StreamSupport.stream(all.spliterator(), false).map(postMapper::postCacheEntityToPost).collect(Collectors.toList());
+    /**
+     * Like {@link #findById(Long)}, but also returns how long the entry has
+     * left, read in the same pipelined round-trip.
+     */
+    public Optional<CacheEntry<Post>> findEntryById(Long id) {
+        byte[] key = bytes(postKey(id.toString()));
+        List<Object> valueAndTtl = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            connection.stringCommands().get(key);
+            connection.keyCommands().pTtl(key);
+            return null;
+        }, RedisSerializer.byteArray());
+
+        byte[] value = (byte[]) valueAndTtl.get(0);
+        if (value == null || !isPost(value)) {
+            return Optional.empty();
+        }
+        Long ttlMillis = (Long) valueAndTtl.get(1);
+        return Optional.of(new CacheEntry<>(decode(value), Duration.ofMillis(ttlMillis == null ? -1 : ttlMillis)));
     }
 
-    @Override
-    public void deleteById(Long id) {
-        cachedPostRepository.deleteById(id);
+    /**
+     * Replaces the given posts with tombstones and takes them off their
+     * authors' timelines and the global timeline. The authors are read from
+     * the cached values in one pipelined round-trip and the deletes go out in
+     * one pipeline per {@value #BATCH_SIZE} posts.
+     */
+    public void deleteAllById(List<Long> ids) {
+        List<Post> previous = findValuesByIds(ids);
+        Expiration tombstoneTtl = Expiration.from(cacheProperties.postTombstoneTtl());
+
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            int start = from;
+            List<Long> batch = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int i = 0; i < batch.size(); i++) {
+                    Long id = batch.get(i);
+                    Post previousPost = previous.get(start + i);
+                    connection.stringCommands().set(bytes(postKey(id.toString())), TOMBSTONE, tombstoneTtl, SetOption.upsert());
+                    connection.zSetCommands().zRem(bytes(GLOBAL_TIMELINE_KEY), bytes(timelineMember(id)));
+                    if (previousPost != null) {
+                        connection.zSetCommands().zRem(bytes(timelineKey(previousPost.getUserId())), bytes(timelineMember(id)));
+                    }
+                }
+                return null;
+            });
+        }
     }
 
-    @Override
+    /**
+     * Writes the post values, one version-checked script call per post, in
+     * one pipeline per {@value #BATCH_SIZE} posts.
+     */
     public void saveAll(List<Post> posts) {
-        cachedPostRepository.saveAll(posts.stream().map(postMapper::postToCacheEntity).collect(Collectors.toList()));
+        for (List<Post> batch : batches(posts)) {
+            List<byte[]> values = batch.stream().map(this::encode).collect(Collectors.toList());
+
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int i = 0; i < batch.size(); i++) {
+                    writePost(connection, batch.get(i), values.get(i));
+                }
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Write-through for posts that were just inserted. The posts are also
+     * pushed onto their authors' timelines and the global timeline, which are
+     * created if they do not exist yet so a timeline materialized concurrently
+     * can not miss them; trimming one to size marks it {@code capped}. A post
+     * that would end up as the oldest entry of a capped timeline is left out,
+     * since older posts than it may only be in the database.
+     */
+    public void saveAllNew(List<Post> posts) {
+        saveAll(posts);
+
+        byte[] size = bytes(Integer.toString(cacheProperties.timelineSize()));
+        byte[] globalSize = bytes(Integer.toString(cacheProperties.globalTimelineSize()));
+        byte[] ttl = bytes(Long.toString(cacheProperties.timelineTtl().toMillis()));
+        for (List<Post> batch : batches(posts)) {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                batch.forEach(post -> {
+                    byte[] score = bytes(Long.toString(timelineScore(post.getCreatedDate())));
+                    byte[] member = bytes(timelineMember(post.getId()));
+                    addToTimeline(connection, timelineStateKey(post.getUserId()), timelineKey(post.getUserId()), score, member, size, ttl);
+                    addToTimeline(connection, GLOBAL_TIMELINE_STATE_KEY, GLOBAL_TIMELINE_KEY, score, member, globalSize, ttl);
+                });
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Reads up to {@code count} post ids from the author's timeline, newest
+     * first, continuing after {@code afterId} when given. Empty when the
+     * timeline is not materialized; a slice that does not contain the cursor
+     * when {@code afterId} is not in the timeline.
+     */
+    public Optional<TimelineSlice> findTimeline(Long authorId, Long afterId, int count) {
+        return readTimeline(timelineStateKey(authorId), timelineKey(authorId), afterId, count);
+    }
+
+    /**
+     * Like {@link #findTimeline(Long, Long, int)}, on the global timeline.
+     */
+    public Optional<TimelineSlice> findGlobalTimeline(Long afterId, int count) {
+        return readTimeline(GLOBAL_TIMELINE_STATE_KEY, GLOBAL_TIMELINE_KEY, afterId, count);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Optional<TimelineSlice> readTimeline(String stateKey, String key, Long afterId, int count) {
+        List<String> stateAndIds = redisTemplate.execute(READ_TIMELINE_SCRIPT, List.of(stateKey, key),
+                afterId == null ? "" : timelineMember(afterId), Integer.toString(count));
+        if (stateAndIds == null || stateAndIds.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<Long> postIds = stateAndIds.subList(2, stateAndIds.size()).stream()
+                .map(Long::parseLong)
+                .collect(Collectors.toList());
+        return Optional.of(new TimelineSlice(postIds, TIMELINE_CAPPED.equals(stateAndIds.get(0)), "1".equals(stateAndIds.get(1))));
+    }
+
+    /**
+     * Materializes the author's timeline from {@code entries}, their newest
+     * posts as read from the database. Entries already pushed by concurrent
+     * creates are kept. When {@code capped}, ids older than the last entry are
+     * dropped so the timeline stays a contiguous run.
+     */
+    public void saveTimeline(Long authorId, List<PostCursor> entries, boolean capped) {
+        writeTimeline(timelineStateKey(authorId), timelineKey(authorId), entries, capped);
+    }
+
+    /**
+     * Like {@link #saveTimeline(Long, List, boolean)}, for the global timeline.
+     */
+    public void saveGlobalTimeline(List<PostCursor> entries, boolean capped) {
+        writeTimeline(GLOBAL_TIMELINE_STATE_KEY, GLOBAL_TIMELINE_KEY, entries, capped);
+    }
+
+    private void writeTimeline(String stateKey, String key, List<PostCursor> entries, boolean capped) {
+        List<String> args = new ArrayList<>(entries.size() * 2 + 3);
+        args.add(Long.toString(cacheProperties.timelineTtl().toMillis()));
+        args.add(capped ? TIMELINE_CAPPED : TIMELINE_FULL);
+        args.add(entries.isEmpty() ? "0" : Long.toString(timelineScore(entries.get(entries.size() - 1).getCreatedDate())));
+        entries.forEach(entry -> {
+            args.add(Long.toString(timelineScore(entry.getCreatedDate())));
+            args.add(timelineMember(entry.getId()));
+        });
+
+        redisTemplate.execute(SAVE_TIMELINE_SCRIPT, List.of(stateKey, key), args.toArray());
+    }
+
+    /**
+     * Drops ids a timeline read found to be deleted or moved to another author.
+     */
+    public void removeFromTimeline(Long authorId, List<Long> postIds) {
+        redisTemplate.opsForZSet().remove(timelineKey(authorId), postIds.stream().map(RedisPostRepositoryImpl::timelineMember).toArray());
+    }
+
+    /**
+     * Drops ids a global timeline read found to be deleted.
+     */
+    public void removeFromGlobalTimeline(List<Long> postIds) {
+        redisTemplate.opsForZSet().remove(GLOBAL_TIMELINE_KEY, postIds.stream().map(RedisPostRepositoryImpl::timelineMember).toArray());
+    }
+
+    /**
+     * Reads the given post values in one pipelined round-trip. The result is
+     * aligned with {@code ids}; posts that are not cached are null.
+     */
+    public List<Post> findValuesByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return findAllByIds(ids.stream().map(Object::toString).collect(Collectors.toList()));
+    }
+
+    /**
+     * Reads the given post values with one MGET per {@value #BATCH_SIZE} ids, all
+     * sent in a single pipelined round-trip. The result is aligned with
+     * {@code ids}; entries that are no longer in Redis, or deleted, are null.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Post> findAllByIds(List<String> ids) {
+        List<List<String>> batches = batches(ids);
+        List<Object> batchValues = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            batches.forEach(batch -> connection.stringCommands().mGet(batch.stream()
+                    .map(id -> bytes(postKey(id)))
+                    .toArray(byte[][]::new)));
+            return null;
+        }, RedisSerializer.byteArray());
+
+        List<Post> posts = new ArrayList<>(ids.size());
+        for (Object values : batchValues) {
+            for (byte[] value : (List<byte[]>) values) {
+                posts.add(value == null || !isPost(value) ? null : decode(value));
+            }
+        }
+        return posts;
+    }
+
+    /**
+     * Sets the value unless a newer version, or a tombstone, is already stored.
+     */
+    private void writePost(RedisConnection connection, Post post, byte[] value) {
+        connection.scriptingCommands().eval(WRITE_IF_NOT_OLDER_SCRIPT, ReturnType.BOOLEAN, 1,
+                bytes(postKey(post.getId().toString())),
+                value,
+                bytes(Long.toString(cacheProperties.postTtl().toMillis())));
+    }
+
+    private static void addToTimeline(RedisConnection connection, String stateKey, String key, byte[] score, byte[] member,
+                                      byte[] size, byte[] ttl) {
+        connection.scriptingCommands().eval(ADD_TO_TIMELINE_SCRIPT, ReturnType.BOOLEAN, 2,
+                bytes(stateKey), bytes(key), score, member, size, ttl);
+    }
+
+    private byte[] encode(Post post) {
+        byte[] encoded = postCodec.encode(post);
+        return ByteBuffer.allocate(Long.BYTES + encoded.length)
+                .putLong(post.getVersion() == null ? UNKNOWN_VERSION : post.getVersion())
+                .put(encoded)
+                .array();
+    }
+
+    private Post decode(byte[] value) {
+        long version = ByteBuffer.wrap(value).getLong();
+        Post post = postCodec.decode(value, Long.BYTES);
+        post.setVersion(version == UNKNOWN_VERSION ? null : version);
+        return post;
+    }
+
+    private static boolean isPost(byte[] value) {
+        return value.length > Long.BYTES;
+    }
+
+    private static <T> List<List<T>> batches(List<T> items) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += BATCH_SIZE) {
+            batches.add(items.subList(from, Math.min(from + BATCH_SIZE, items.size())));
+        }
+        return batches;
+    }
+
+    private static String postKey(String id) {
+        return VALUE_PREFIX + id;
+    }
+
+    private static String timelineKey(Long authorId) {
+        return TIMELINE_PREFIX + authorId;
+    }
+
+    private static String timelineStateKey(Long authorId) {
+        return TIMELINE_STATE_PREFIX + authorId;
+    }
+
+    private static String timelineMember(Long postId) {
+        return String.format("%019d", postId);
+    }
+
+    private static long timelineScore(LocalDateTime createdDate) {
+        return createdDate == null ? 0 : createdDate.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + createdDate.getNano() / 1_000;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A slice of a timeline. {@code capped} means older posts than
+     * the timeline holds may exist in the database. {@code containsCursor} is
+     * false when the slice was asked to continue after a post the timeline
+     * does not hold; its ids are empty then.
+     */
+    public record TimelineSlice(List<Long> postIds, boolean capped, boolean containsCursor) {
+
+        /**
+         * The same read as {@link RedisPostRepositoryImpl#findTimeline(Long, Long, int)}, against a
+         * whole timeline that is already in memory.
+         */
+        public TimelineSlice after(Long afterId, int count) {
+            int start = afterId == null ? 0 : postIds.indexOf(afterId) + 1;
+            if (start == 0 && afterId != null) {
+                return new TimelineSlice(List.of(), capped, false);
+            }
+            return new TimelineSlice(postIds.subList(start, Math.min(start + count, postIds.size())), capped, true);
+        }
     }
 }
@@ -1,13 +1,122 @@
 package com.nasor.postsapi.post.infraestructure.repository;
 
 import com.nasor.postsapi.post.infraestructure.entity.PostEntity;
+import com.nasor.postsapi.post.infraestructure.entity.PostRow;
+import com.nasor.postsapi.post.infraestructure.entity.PostTimelineRow;
+import com.nasor.postsapi.post.infraestructure.entity.PostWithAuthorRow;
+import com.nasor.postsapi.user.infraestructure.entity.UserEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface SpringPostRepository extends JpaRepository<PostEntity, Long> {
 
-    List<PostEntity> findAllByAuthorId(Long authorId);
+    @Query("""
+            select new com.nasor.postsapi.post.infraestructure.entity.PostWithAuthorRow(
+                p.id, p.title, p.content, p.createdAt, p.updatedAt, p.version,
+                a.id, a.firstName, a.lastName, a.email, a.version)
+            from PostEntity p join p.author a
+            order by p.createdAt desc, p.id desc
+            """)
+    List<PostWithAuthorRow> findPageWithAuthors(Pageable pageable);
+
+    @Query("""
+            select new com.nasor.postsapi.post.infraestructure.entity.PostWithAuthorRow(
+                p.id, p.title, p.content, p.createdAt, p.updatedAt, p.version,
+                a.id, a.firstName, a.lastName, a.email, a.version)
+            from PostEntity p join p.author a
+            where (p.createdAt, p.id) < (:createdAt, :id)
+            order by p.createdAt desc, p.id desc
+            """)
+    List<PostWithAuthorRow> findPageWithAuthorsBefore(LocalDateTime createdAt, Long id, Pageable pageable);
+
+    @Query("""
+            select new com.nasor.postsapi.post.infraestructure.entity.PostRow(
+                p.id, p.title, p.content, p.author.id, p.createdAt, p.updatedAt, p.version)
+            from PostEntity p
+            where p.author.id = :authorId
+            order by p.createdAt desc, p.id desc
+            """)
+    List<PostRow> findPageByAuthorId(Long authorId, Pageable pageable);
+
+    @Query("""
+            select new com.nasor.postsapi.post.infraestructure.entity.PostRow(
+                p.id, p.title, p.content, p.author.id, p.createdAt, p.updatedAt, p.version)
+            from PostEntity p
+            where p.author.id = :authorId and (p.createdAt, p.id) < (:createdAt, :id)
+            order by p.createdAt desc, p.id desc
+            """)
+    List<PostRow> findPageByAuthorIdBefore(Long authorId, LocalDateTime createdAt, Long id, Pageable pageable);
+
+    @Query("""
+            select new com.nasor.postsapi.post.infraestructure.entity.PostTimelineRow(p.id, p.createdAt)
+            from PostEntity p
+            where p.author.id = :authorId
+            order by p.createdAt desc, p.id desc
+            """)
+    List<PostTimelineRow> findTimelineByAuthorId(Long authorId, Pageable pageable);
+
+    @Query("""
+            select new com.nasor.postsapi.post.infraestructure.entity.PostTimelineRow(p.id, p.createdAt)
+            from PostEntity p
+            order by p.createdAt desc, p.id desc
+            """)
+    List<PostTimelineRow> findTimeline(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new com.nasor.postsapi.post.infraestructure.entity.PostRow(
+                p.id, p.title, p.content, p.author.id, p.createdAt, p.updatedAt, p.version)
+            from PostEntity p
+            order by p.id
+            """)
+    Stream<PostRow> streamAllRowsOrderById();
+
+    /**
+     * Ranks the newest {@code maxCandidates} matches of the query, so a query
+     * with more matches than that always pages through the same posts.
+     */
+    @Query(value = """
+            select candidates.id from (
+                select p.id, p.search_vector
+                from post p, websearch_to_tsquery('english', :query) query
+                where p.search_vector @@ query
+                order by p.id desc
+                limit :maxCandidates
+            ) candidates, websearch_to_tsquery('english', :query) query
+            order by ts_rank_cd(candidates.search_vector, query) desc, candidates.id desc
+            offset :offset limit :limit
+            """, nativeQuery = true)
+    List<Long> searchIds(String query, int maxCandidates, int offset, int limit);
+
+    @Query("""
+            select new com.nasor.postsapi.post.infraestructure.entity.PostRow(
+                p.id, p.title, p.content, p.author.id, p.createdAt, p.updatedAt, p.version)
+            from PostEntity p
+            where p.id in :ids
+            """)
+    List<PostRow> findRowsByIds(Collection<Long> ids);
+
+    @Modifying
+    @Query("""
+            update PostEntity p
+            set p.title = :title, p.content = :content, p.author = :author, p.updatedAt = :updatedAt, p.version = p.version + 1
+            where p.id = :id and p.version = :version
+            """)
+    int updateIfVersion(Long id, Long version, String title, String content, UserEntity author, LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("delete from PostEntity p where p.id = :id")
+    int deleteByIdReturningCount(Long id);
 }
@@ -0,0 +1,106 @@
+package com.nasor.postsapi.post.infraestructure.search;
+
+import com.nasor.postsapi.post.domain.Post;
+import com.nasor.postsapi.post.domain.PostChangedEvent;
+import com.nasor.postsapi.post.domain.PostSearchIndex;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index kept in memory, for tests and local runs without Postgres
+ * full-text search. It starts empty and indexes posts as their writes commit.
+ * Words are matched exactly (no stemming), and a title match weighs as much
+ * as in the Postgres ranking (1.0 against 0.4 for content).
+ */
+public class InMemoryPostSearchIndex implements PostSearchIndex {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final float TITLE_WEIGHT = 1.0f;
+    private static final float CONTENT_WEIGHT = 0.4f;
+
+    private final Map<String, Map<Long, Float>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> wordsByPost = new ConcurrentHashMap<>();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.type() == PostChangedEvent.Type.DELETED) {
+            remove(event.postId());
+        } else {
+            index(event.post());
+        }
+    }
+
+    public synchronized void index(Post post) {
+        remove(post.getId());
+
+        Map<String, Float> weights = new HashMap<>();
+        words(post.getTitle()).forEach(word -> weights.merge(word, TITLE_WEIGHT, Float::sum));
+        words(post.getContent()).forEach(word -> weights.merge(word, CONTENT_WEIGHT, Float::sum));
+
+        weights.forEach((word, weight) -> postings.computeIfAbsent(word, key -> new ConcurrentHashMap<>()).put(post.getId(), weight));
+        wordsByPost.put(post.getId(), weights.keySet());
+    }
+
+    public synchronized void remove(Long postId) {
+        Set<String> words = wordsByPost.remove(postId);
+        if (words == null) {
+            return;
+        }
+        words.forEach(word -> postings.computeIfPresent(word, (key, posts) -> {
+            posts.remove(postId);
+            return posts.isEmpty() ? null : posts;
+        }));
+    }
+
+    @Override
+    public List<Long> search(String query, int offset, int limit) {
+        Set<String> words = new LinkedHashSet<>(words(query));
+        if (words.isEmpty()) {
+            return List.of();
+        }
+
+        List<Map<Long, Float>> matches = words.stream()
+                .map(word -> postings.getOrDefault(word, Map.of()))
+                .sorted(Comparator.comparingInt(Map::size))
+                .toList();
+
+        Map<Long, Float> scores = new HashMap<>();
+        matches.get(0).forEach((postId, weight) -> {
+            float score = weight;
+            for (int i = 1; i < matches.size(); i++) {
+                Float other = matches.get(i).get(postId);
+                if (other == null) {
+                    return;
+                }
+                score += other;
+            }
+            scores.put(postId, score);
+        });
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Float>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.<Long, Float>comparingByKey().reversed()))
+                .skip(offset)
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return NON_WORD.splitAsStream(text.toLowerCase(Locale.ROOT))
+                .filter(word -> !word.isEmpty())
+                .toList();
+    }
+}
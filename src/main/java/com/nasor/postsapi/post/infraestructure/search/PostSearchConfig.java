@@ -0,0 +1,25 @@
+package com.nasor.postsapi.post.infraestructure.search;
+
+import com.nasor.postsapi.post.domain.PostSearchIndex;
+import com.nasor.postsapi.post.infraestructure.repository.SpringPostRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(PostSearchProperties.class)
+public class PostSearchConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.search", name = "engine", havingValue = "postgres", matchIfMissing = true)
+    public PostSearchIndex postgresPostSearchIndex(SpringPostRepository springPostRepository, PostSearchProperties properties) {
+        return new PostgresPostSearchIndex(springPostRepository, properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.search", name = "engine", havingValue = "memory")
+    public PostSearchIndex inMemoryPostSearchIndex() {
+        return new InMemoryPostSearchIndex();
+    }
+}
@@ -0,0 +1,16 @@
+package com.nasor.postsapi.post.infraestructure.search;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * {@code engine} is {@code postgres} or {@code memory}. Only the first
+ * {@code maxCandidates} matches of a query are ranked, which bounds the cost
+ * of very common words.
+ */
+@ConfigurationProperties(prefix = "app.search")
+public record PostSearchProperties(
+        @DefaultValue("postgres") String engine,
+        @DefaultValue("1000") int maxCandidates
+) {
+}
@@ -0,0 +1,29 @@
+package com.nasor.postsapi.post.infraestructure.search;
+
+import com.nasor.postsapi.post.domain.PostSearchIndex;
+import com.nasor.postsapi.post.infraestructure.repository.SpringPostRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Searches the {@code search_vector} column through its GIN index. The query
+ * is parsed with {@code websearch_to_tsquery}, so quoted phrases, {@code or}
+ * and {@code -word} work, and words are stemmed.
+ */
+@RequiredArgsConstructor
+public class PostgresPostSearchIndex implements PostSearchIndex {
+
+    private final SpringPostRepository springPostRepository;
+    private final PostSearchProperties properties;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> search(String query, int offset, int limit) {
+        if (offset >= properties.maxCandidates()) {
+            return List.of();
+        }
+        return springPostRepository.searchIds(query, properties.maxCandidates(), offset, limit);
+    }
+}
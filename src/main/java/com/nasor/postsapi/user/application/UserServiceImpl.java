@@ -1,38 +1,74 @@
 package com.nasor.postsapi.user.application;
 
+import com.nasor.postsapi.cache.infraestructure.NearCache;
+import com.nasor.postsapi.config.infraestructure.LookupExecutor;
 import com.nasor.postsapi.user.domain.User;
-import com.nasor.postsapi.user.domain.UserRepository;
 import com.nasor.postsapi.user.domain.UserService;
+import com.nasor.postsapi.user.infraestructure.repository.RedisUserRepositoryImpl;
+import com.nasor.postsapi.user.infraestructure.repository.SqlUserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
-    private final UserRepository userRepository;
+    private final SqlUserRepository userRepository;
+    private final RedisUserRepositoryImpl cachedUserRepository;
+    private final NearCache<User> userNearCache;
+    private final LookupExecutor lookupExecutor;
 
     @Override
     public User createUser(User user) {
         if (userRepository.finByEmail(user.getEmail()).isPresent()) {
             throw new RuntimeException("Email already in use");
         }
-        return userRepository.save(user);
+        User createdUser = userRepository.save(user);
+
+        cachedUserRepository.save(createdUser);
+
+        return createdUser;
     }
 
+    /**
+     * Same conditional update as for posts: the caller's version, or else the
+     * cached one with a single retry against the database if it was stale.
+     */
     @Override
     public User update(User user) {
-        User existingUser = userRepository.findById(user.getId())
-                .orElseThrow(() -> new RuntimeException("User not found."));
+        Long expectedVersion = user.getVersion();
+        if (expectedVersion == null) {
+            user.setVersion(findById(user.getId()).map(User::getVersion).orElse(null));
+        }
+
+        Optional<User> updated = user.getVersion() == null ? Optional.empty() : userRepository.updateIfVersion(user);
+        if (updated.isEmpty()) {
+            User current = userRepository.findById(user.getId())
+                    .orElseThrow(() -> new RuntimeException("User not found."));
+            if (expectedVersion != null) {
+                throw new OptimisticLockingFailureException("User " + user.getId() + " is at version " + current.getVersion() + ", not " + expectedVersion);
+            }
+            user.setVersion(current.getVersion());
+            updated = userRepository.updateIfVersion(user);
+        }
+
+        User updatedUser = updated.orElseThrow(() -> new OptimisticLockingFailureException("User " + user.getId() + " was modified concurrently"));
 
-        existingUser.setFirstName(user.getFirstName());
-        existingUser.setLastName(user.getLastName());
-        existingUser.setEmail(user.getEmail());
+        cachedUserRepository.save(updatedUser);
+        userNearCache.invalidate(updatedUser.getId());
 
-        return userRepository.save(existingUser);
+        return updatedUser;
     }
 
     @Override
@@ -42,7 +78,49 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public Optional<User> findById(Long id) {
-        return userRepository.findById(id);
+        return userNearCache.get(id, this::loadById);
+    }
+
+    @Override
+    public CompletableFuture<Optional<User>> findByIdAsync(Long id) {
+        return lookupExecutor.supply(() -> findById(id));
+    }
+
+    private Optional<User> loadById(Long id) {
+        Optional<User> cachedUser = cachedUserRepository.findById(id);
+        if (cachedUser.isPresent()) {
+            return cachedUser;
+        }
+
+        Optional<User> user = userRepository.findById(id);
+        user.ifPresent(cachedUserRepository::save);
+        log.debug("Loaded user {} from DB", id);
+
+        return user;
+    }
+
+    @Override
+    public List<User> findAllByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        List<User> users = new ArrayList<>(cachedUserRepository.findAllByIds(ids));
+        if (users.size() == ids.size()) {
+            return users;
+        }
+
+        Set<Long> missingIds = new HashSet<>(ids);
+        users.forEach(user -> missingIds.remove(user.getId()));
+
+        List<User> loadedUsers = userRepository.findAllByIds(missingIds);
+        if (!loadedUsers.isEmpty()) {
+            cachedUserRepository.saveAll(loadedUsers);
+        }
+        log.debug("Loaded {} of {} users from DB", loadedUsers.size(), ids.size());
+
+        users.addAll(loadedUsers);
+        return users;
     }
 
 }
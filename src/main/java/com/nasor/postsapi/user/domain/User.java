@@ -10,4 +10,5 @@ public class User {
     private String firstName;
     private String lastName;
     private String email;
+    private Long version;
 }
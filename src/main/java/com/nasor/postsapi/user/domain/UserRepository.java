@@ -1,5 +1,6 @@
 package com.nasor.postsapi.user.domain;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,5 +11,7 @@ public interface UserRepository {
 
     List<User> findAll();
 
+    List<User> findAllByIds(Collection<Long> ids);
+
     Optional<User> finByEmail(String email);
 }
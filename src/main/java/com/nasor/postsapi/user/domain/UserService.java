@@ -1,8 +1,10 @@
 package com.nasor.postsapi.user.domain;
 
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public interface UserService {
 
@@ -13,4 +15,8 @@ public interface UserService {
     List<User> findAll();
 
     Optional<User> findById(Long id);
+
+    CompletableFuture<Optional<User>> findByIdAsync(Long id);
+
+    List<User> findAllByIds(Collection<Long> ids);
 }
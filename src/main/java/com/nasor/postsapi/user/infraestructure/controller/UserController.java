@@ -3,12 +3,13 @@ package com.nasor.postsapi.user.infraestructure.controller;
 import com.nasor.postsapi.user.infraestructure.dto.UserDto;
 import com.nasor.postsapi.user.infraestructure.dto.UserRequestDto;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
 public interface UserController {
     ResponseEntity<UserDto> createUser(UserRequestDto userUpdateRequestDto);
-    ResponseEntity<UserDto> findById(Long id);
+    ResponseEntity<UserDto> findById(Long id, WebRequest request);
     ResponseEntity<List<UserDto>> findAll();
     ResponseEntity<UserDto> update(Long id, UserRequestDto userDto);
 }
@@ -16,6 +16,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -62,25 +63,32 @@ public class UserControllerImpl implements UserController {
     }
 
     @Override
-    @Operation(summary = "Get user by ID", description = "Retrieves a single user by their unique ID.")
+    @Operation(summary = "Get user by ID", description = "Retrieves a single user by their unique ID. The response carries a strong ETag; send it back in If-None-Match to get a 304 when the user is unchanged.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User retrieved successfully.",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = UserDto.class))),
+            @ApiResponse(responseCode = "304", description = "User not modified since the given ETag."),
             @ApiResponse(responseCode = "404", description = "User not found for the given ID."),
             @ApiResponse(responseCode = "500", description = "Internal server error.")
     })
     @GetMapping("/{id}")
     public ResponseEntity<UserDto> findById(
             @Parameter(description = "ID of the user to retrieve.", required = true, example = "1")
-            @PathVariable Long id
+            @PathVariable Long id,
+            WebRequest request
     ) throws RuntimeException
     {
         User user = userService.findById(id).orElseThrow(() -> new RuntimeException("User not found."));
 
+        String eTag = userMapper.userToETag(user);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+
         UserDto userDto = userMapper.userToUserDto(user);
 
-        return ResponseEntity.ok(userDto);
+        return ResponseEntity.ok().eTag(eTag).body(userDto);
     }
 
     @Override
@@ -108,6 +116,7 @@ public class UserControllerImpl implements UserController {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(example = "{\"error\": \"Validation Error\", \"message\": \"Email must be a valid email format.\"}"))),
             @ApiResponse(responseCode = "404", description = "User not found for the given ID."),
+            @ApiResponse(responseCode = "409", description = "The given version is no longer the current version of the user."),
             @ApiResponse(responseCode = "500", description = "Internal server error.")
     })
     @PutMapping("/{id}")
@@ -130,6 +139,7 @@ public class UserControllerImpl implements UserController {
                 .firstName(userUpdateRequestDto.firstName())
                 .email(userUpdateRequestDto.email())
                 .lastName(userUpdateRequestDto.lastName())
+                .version(userUpdateRequestDto.version())
                 .build());
 
         UserDto userDto = userMapper.userToUserDto(updated);
@@ -13,6 +13,9 @@ public record UserDto(
         String fullName,
 
         @Schema(description = "User email", example = "emaple@gmail.com")
-        String email)
+        String email,
+
+        @Schema(description = "Version of the user, to send back with an update", example = "3")
+        Long version)
 {
 }
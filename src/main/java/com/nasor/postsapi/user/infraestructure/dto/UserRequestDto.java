@@ -16,6 +16,9 @@ public record UserRequestDto(
         @Schema(description = "User email", example = "example@gmail.com")
         @Email(message = "Email required.")
         @NotBlank(message = "Email cannot be blank.")
-        String email
+        String email,
+
+        @Schema(description = "Version an update is based on. If it is no longer current the update is rejected with 409; omit it to overwrite whatever is current. Ignored on creation.", example = "3")
+        Long version
 ) {
 }
@@ -0,0 +1,20 @@
+package com.nasor.postsapi.user.infraestructure.entity;
+
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.redis.core.RedisHash;
+
+import java.io.Serializable;
+
+@RedisHash("User")
+@Data
+@Builder
+public class UserCacheEntity implements Serializable {
+    @Id
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private Long version;
+}
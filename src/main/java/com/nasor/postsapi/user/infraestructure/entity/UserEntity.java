@@ -2,6 +2,7 @@ package com.nasor.postsapi.user.infraestructure.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Getter @Setter
@@ -22,4 +23,9 @@ public class UserEntity {
 
     @Column(nullable = false, unique = true)
     private String email;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
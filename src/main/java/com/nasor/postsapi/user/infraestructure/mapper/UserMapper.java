@@ -3,6 +3,7 @@ package com.nasor.postsapi.user.infraestructure.mapper;
 import com.nasor.postsapi.user.domain.User;
 import com.nasor.postsapi.user.infraestructure.dto.UserDto;
 import com.nasor.postsapi.user.infraestructure.dto.UserRequestDto;
+import com.nasor.postsapi.user.infraestructure.entity.UserCacheEntity;
 import com.nasor.postsapi.user.infraestructure.entity.UserEntity;
 
 
@@ -11,4 +12,7 @@ public interface UserMapper {
     UserDto userToUserDto(User user);
     UserEntity userToUserEntity(User user);
     User updateDtoToUser(UserRequestDto userUpdateRequestDto);
+    User userCacheEntityToUser(UserCacheEntity userCacheEntity);
+    UserCacheEntity userToCacheEntity(User user);
+    String userToETag(User user);
 }
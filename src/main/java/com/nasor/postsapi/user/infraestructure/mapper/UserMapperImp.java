@@ -1,8 +1,10 @@
 package com.nasor.postsapi.user.infraestructure.mapper;
 
+import com.nasor.postsapi.config.infraestructure.ETags;
 import com.nasor.postsapi.user.domain.User;
 import com.nasor.postsapi.user.infraestructure.dto.UserDto;
 import com.nasor.postsapi.user.infraestructure.dto.UserRequestDto;
+import com.nasor.postsapi.user.infraestructure.entity.UserCacheEntity;
 import com.nasor.postsapi.user.infraestructure.entity.UserEntity;
 import org.springframework.stereotype.Service;
 
@@ -16,6 +18,7 @@ public class UserMapperImp implements UserMapper {
                 .email(userEntity.getEmail())
                 .firstName(userEntity.getFirstName())
                 .lastName(userEntity.getLastName())
+                .version(userEntity.getVersion())
                 .build();
     }
 
@@ -25,6 +28,7 @@ public class UserMapperImp implements UserMapper {
                 .id(user.getId())
                 .email(user.getEmail())
                 .fullName(user.getFirstName() + " "+ user.getLastName())
+                .version(user.getVersion())
                 .build();
     }
 
@@ -35,6 +39,7 @@ public class UserMapperImp implements UserMapper {
                 .email(user.getEmail())
                 .firstName(user.getFirstName())
                 .lastName(user.getLastName())
+                .version(user.getVersion())
                 .build();
     }
 
@@ -46,4 +51,31 @@ public class UserMapperImp implements UserMapper {
                 .email(userUpdateRequestDto.email())
                 .build();
     }
+
+    @Override
+    public User userCacheEntityToUser(UserCacheEntity userCacheEntity) {
+        return User.builder()
+                .id(userCacheEntity.getId())
+                .email(userCacheEntity.getEmail())
+                .firstName(userCacheEntity.getFirstName())
+                .lastName(userCacheEntity.getLastName())
+                .version(userCacheEntity.getVersion())
+                .build();
+    }
+
+    @Override
+    public UserCacheEntity userToCacheEntity(User user) {
+        return UserCacheEntity.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .version(user.getVersion())
+                .build();
+    }
+
+    @Override
+    public String userToETag(User user) {
+        return ETags.of(user.getId(), user.getVersion());
+    }
 }
@@ -0,0 +1,118 @@
+package com.nasor.postsapi.user.infraestructure.repository;
+
+import com.nasor.postsapi.cache.infraestructure.RedisCacheProperties;
+import com.nasor.postsapi.user.domain.User;
+import com.nasor.postsapi.user.infraestructure.entity.UserCacheEntity;
+import com.nasor.postsapi.user.infraestructure.mapper.UserMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.convert.Bucket;
+import org.springframework.data.redis.core.convert.MappingRedisConverter;
+import org.springframework.data.redis.core.convert.RedisData;
+import org.springframework.data.redis.core.mapping.RedisMappingContext;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cache adapter for users. It only offers the lookups the cache-aside reads
+ * in {@code UserServiceImpl} need; email lookups and listings always go to
+ * the database.
+ * <p>
+ * Every user is a hash under {@code User:{id}} in the {@code @RedisHash}
+ * layout, written with its TTL in the same pipeline. Unlike a Spring Data
+ * Redis repository, no keyspace set or phantom key is kept next to it, so
+ * nothing is left behind when the hash expires.
+ */
+@RequiredArgsConstructor
+@Repository
+public class RedisUserRepositoryImpl {
+
+    private static final String KEYSPACE = "User";
+
+    private final UserMapper userMapper;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCacheProperties cacheProperties;
+    private final MappingRedisConverter redisConverter = newConverter();
+
+    public User save(User user) {
+        saveAll(List.of(user));
+        return user;
+    }
+
+    public Optional<User> findById(Long id) {
+        return findAllByIds(List.of(id)).stream().findFirst();
+    }
+
+    /**
+     * Reads the given user hashes in a single pipelined round-trip. Users that
+     * are not cached are left out of the result.
+     */
+    @SuppressWarnings("unchecked")
+    public List<User> findAllByIds(Collection<Long> ids) {
+        List<Long> orderedIds = new ArrayList<>(ids);
+
+        List<Object> hashes = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            orderedIds.forEach(id -> connection.hashCommands().hGetAll(bytes(userKey(id))));
+            return null;
+        });
+
+        List<User> users = new ArrayList<>(orderedIds.size());
+        for (int i = 0; i < orderedIds.size(); i++) {
+            Map<String, String> hash = (Map<String, String>) hashes.get(i);
+            if (hash == null || hash.isEmpty()) {
+                continue;
+            }
+            RedisData redisData = new RedisData(Bucket.newBucketFromStringMap(hash));
+            redisData.setKeyspace(KEYSPACE);
+            redisData.setId(orderedIds.get(i).toString());
+            users.add(userMapper.userCacheEntityToUser(redisConverter.read(UserCacheEntity.class, redisData)));
+        }
+        return users;
+    }
+
+    /**
+     * Replaces the hashes of the given users and sets their TTL, all in one
+     * pipelined round-trip.
+     */
+    public void saveAll(List<User> users) {
+        List<Map<byte[], byte[]>> hashes = users.stream().map(this::toHash).toList();
+        long ttlMillis = cacheProperties.userTtl().toMillis();
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < users.size(); i++) {
+                byte[] key = bytes(userKey(users.get(i).getId()));
+                connection.keyCommands().del(key);
+                connection.hashCommands().hMSet(key, hashes.get(i));
+                connection.keyCommands().pExpire(key, ttlMillis);
+            }
+            return null;
+        });
+    }
+
+    private Map<byte[], byte[]> toHash(User user) {
+        RedisData redisData = new RedisData();
+        redisConverter.write(userMapper.userToCacheEntity(user), redisData);
+        return redisData.getBucket().rawMap();
+    }
+
+    private static MappingRedisConverter newConverter() {
+        MappingRedisConverter converter = new MappingRedisConverter(new RedisMappingContext());
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    private static String userKey(Long id) {
+        return KEYSPACE + ":" + id;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
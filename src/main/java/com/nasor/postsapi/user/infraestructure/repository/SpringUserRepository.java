@@ -2,6 +2,8 @@ package com.nasor.postsapi.user.infraestructure.repository;
 
 import com.nasor.postsapi.user.infraestructure.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,4 +11,12 @@ import java.util.Optional;
 @Repository
 public interface SpringUserRepository extends JpaRepository<UserEntity, Long> {
     Optional<UserEntity> findByEmail(String email);
+
+    @Modifying
+    @Query("""
+            update UserEntity u
+            set u.firstName = :firstName, u.lastName = :lastName, u.email = :email, u.version = u.version + 1
+            where u.id = :id and u.version = :version
+            """)
+    int updateIfVersion(Long id, Long version, String firstName, String lastName, String email);
 }
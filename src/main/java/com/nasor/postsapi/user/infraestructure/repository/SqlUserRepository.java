@@ -4,10 +4,11 @@ import com.nasor.postsapi.user.domain.User;
 import com.nasor.postsapi.user.domain.UserRepository;
 import com.nasor.postsapi.user.infraestructure.entity.UserEntity;
 import com.nasor.postsapi.user.infraestructure.mapper.UserMapper;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -27,11 +28,29 @@ public class SqlUserRepository implements UserRepository {
         return userMapper.entityToUser(savedUser);
     }
 
+    /**
+     * Updates the user with a single conditional statement. Returns empty when
+     * the user does not exist or is no longer at {@code user.getVersion()}.
+     */
+    @Transactional
+    public Optional<User> updateIfVersion(User user) {
+        int updated = springUserRepository.updateIfVersion(user.getId(), user.getVersion(),
+                user.getFirstName(), user.getLastName(), user.getEmail());
+        if (updated == 0) {
+            return Optional.empty();
+        }
+
+        user.setVersion(user.getVersion() + 1);
+        return Optional.of(user);
+    }
+
+    @Transactional(readOnly = true)
     @Override
     public Optional<User> findById(Long id) {
         return springUserRepository.findById(id).map(userMapper::entityToUser);
     }
 
+    @Transactional(readOnly = true)
     @Override
     public List<User> findAll() {
         return springUserRepository.findAll()
@@ -40,6 +59,15 @@ public class SqlUserRepository implements UserRepository {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public List<User> findAllByIds(Collection<Long> ids) {
+        return springUserRepository.findAllById(ids)
+                .stream()
+                .map(userMapper::entityToUser)
+                .collect(Collectors.toList());
+    }
+
     @Transactional
     @Override
     public Optional<User> finByEmail(String email) {
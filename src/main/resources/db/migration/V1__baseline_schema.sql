@@ -0,0 +1,29 @@
+-- Schema as previously generated by ddl-auto=update. Every statement is
+-- idempotent so the script also brings databases created by Hibernate in line.
+
+create sequence if not exists post_seq start with 1 increment by 50;
+
+create table if not exists app_user (
+    id         bigint generated by default as identity primary key,
+    first_name varchar(255) not null,
+    last_name  varchar(255) not null,
+    email      varchar(255) not null unique,
+    version    bigint default 0 not null
+);
+
+create table if not exists post (
+    id         bigint primary key,
+    title      varchar(100)  not null,
+    content    varchar(1500) not null,
+    author_id  bigint        not null references app_user (id),
+    created_at timestamp(6)  not null,
+    updated_at timestamp(6)  not null,
+    version    bigint default 0 not null
+);
+
+alter table app_user add column if not exists version bigint default 0 not null;
+alter table post add column if not exists version bigint default 0 not null;
+
+-- Posts created while ids came from an identity column must not collide with
+-- ids handed out by post_seq.
+select setval('post_seq', greatest((select coalesce(max(id), 0) from post), (select last_value from post_seq)) + 50, false);
@@ -0,0 +1,7 @@
+-- Per-author feed: author_id = ? order by created_at desc, id desc, with a
+-- (created_at, id) keyset predicate for the following pages.
+create index if not exists post_author_id_created_at_id_idx on post (author_id, created_at desc, id desc);
+
+-- Global feed: the same ordering without the author filter, read as a
+-- backward scan.
+create index if not exists post_created_at_id_idx on post (created_at, id);
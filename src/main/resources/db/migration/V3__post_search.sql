@@ -0,0 +1,10 @@
+-- Full-text search over title (weight A) and content (weight B). The vector
+-- is a stored generated column, so Postgres keeps it current on every insert
+-- and update. Adding it rewrites the table once.
+alter table post add column if not exists search_vector tsvector
+    generated always as (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(content, '')), 'B')
+    ) stored;
+
+create index if not exists post_search_vector_idx on post using gin (search_vector);
@@ -0,0 +1,32 @@
+package com.nasor.postsapi.cache.infraestructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EarlyRefreshTest {
+
+    private final EarlyRefresh earlyRefresh = new EarlyRefresh(Duration.ofSeconds(60));
+
+    @Test
+    void refreshProbabilityRisesAsExpiryApproaches() {
+        assertThat(refreshRate(Duration.ZERO)).isEqualTo(1.0);
+        assertThat(refreshRate(Duration.ofSeconds(30))).isBetween(0.55, 0.65);
+        assertThat(refreshRate(Duration.ofMinutes(5))).isLessThan(0.02);
+        assertThat(refreshRate(Duration.ofHours(1))).isZero();
+    }
+
+    @Test
+    void keysWithoutExpiryAreNeverRefreshed() {
+        assertThat(refreshRate(Duration.ofMillis(-1))).isZero();
+    }
+
+    private double refreshRate(Duration timeToLive) {
+        int reads = 20_000;
+        long refreshes = IntStream.range(0, reads).filter(i -> earlyRefresh.shouldRefresh(timeToLive)).count();
+        return (double) refreshes / reads;
+    }
+}
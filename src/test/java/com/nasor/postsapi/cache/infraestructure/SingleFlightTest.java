@@ -0,0 +1,67 @@
+package com.nasor.postsapi.cache.infraestructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrentLoadsOfTheSameKeyRunTheLoaderOnce() throws Exception {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>("test");
+        AtomicInteger loaderCalls = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        int callers = 8;
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            Future<String> first = executor.submit(() -> singleFlight.load(1L, key -> {
+                loaderCalls.incrementAndGet();
+                loaderStarted.countDown();
+                await(releaseLoader);
+                return "post-" + key;
+            }));
+            assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            List<Future<String>> others = IntStream.range(1, callers)
+                    .mapToObj(i -> executor.submit(() -> singleFlight.load(1L, key -> {
+                        loaderCalls.incrementAndGet();
+                        return "unexpected";
+                    })))
+                    .toList();
+            while (singleFlight.coalescedCount() < callers - 1) {
+                Thread.onSpinWait();
+            }
+            releaseLoader.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("post-1");
+            for (Future<String> other : others) {
+                assertThat(other.get(5, TimeUnit.SECONDS)).isEqualTo("post-1");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loaderCalls).hasValue(1);
+        assertThat(singleFlight.loadCount()).isEqualTo(1);
+        assertThat(singleFlight.coalescedCount()).isEqualTo(callers - 1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.nasor.postsapi.config.infraestructure;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Uses three unrelated in-memory H2 databases as stand-ins for the primary and
+ * two replicas; each one only knows its own name.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = ReplicaRoutingDataSource.readOnlyRouting(
+                database("primary"), List.of(database("replica-1"), database("replica-2")));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionManager.addListener(ReadYourWrites.commitListener());
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.close();
+    }
+
+    @Test
+    void readOnlyTransactionsRotateOverTheReplicasAndWritesGoToThePrimary() {
+        Set<String> readers = IntStream.range(0, 4)
+                .mapToObj(i -> databaseName(readOnly))
+                .collect(Collectors.toSet());
+
+        assertThat(readers).containsExactlyInAnyOrder("replica-1", "replica-2");
+        assertThat(databaseName(readWrite)).isEqualTo("primary");
+    }
+
+    @Test
+    void readsAfterAWriteInTheSameRequestGoToThePrimary() {
+        ReadYourWrites.open();
+        assertThat(databaseName(readOnly)).startsWith("replica");
+
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE marker SET name = name"));
+
+        assertThat(databaseName(readOnly)).isEqualTo("primary");
+        assertThat(CompletableFuture.supplyAsync(ReadYourWrites.propagate(() -> databaseName(readOnly))).join())
+                .isEqualTo("primary");
+
+        ReadYourWrites.open();
+        assertThat(databaseName(readOnly)).startsWith("replica");
+    }
+
+    private String databaseName(TransactionTemplate transactionTemplate) {
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM marker", String.class));
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(20))");
+        jdbcTemplate.update("DELETE FROM marker");
+        jdbcTemplate.update("INSERT INTO marker (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
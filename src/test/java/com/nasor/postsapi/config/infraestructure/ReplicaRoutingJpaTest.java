@@ -0,0 +1,131 @@
+package com.nasor.postsapi.config.infraestructure;
+
+import com.nasor.postsapi.user.domain.User;
+import com.nasor.postsapi.user.infraestructure.mapper.UserMapperImp;
+import com.nasor.postsapi.user.infraestructure.repository.SqlUserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The same routing as {@link ReplicaRoutingDataSourceTest}, driven the way the
+ * application drives it: through {@code @Transactional} repository methods on a
+ * {@link JpaTransactionManager}, where Hibernate fetches the connection and
+ * sets its read-only flag. The commit listener reaches the transaction manager
+ * through the same auto-configured customizer as in the application. Each H2
+ * database holds one user whose first name is the database's name.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SqlUserRepository.class, UserMapperImp.class})
+@ImportAutoConfiguration(TransactionManagerCustomizationAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReplicaRoutingJpaTest {
+
+    private static final Long USER_ID = 1L;
+
+    @Autowired
+    private SqlUserRepository sqlUserRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.close();
+    }
+
+    @Test
+    void readOnlyRepositoryCallsAreServedByTheReplicas() {
+        assertThat(transactionManager).isInstanceOf(JpaTransactionManager.class);
+
+        Set<String> readers = IntStream.range(0, 4)
+                .mapToObj(i -> servingDatabase())
+                .collect(Collectors.toSet());
+
+        assertThat(readers).containsExactlyInAnyOrder("replica-1", "replica-2");
+    }
+
+    @Test
+    void readsAfterARepositoryWriteInTheSameRequestAreServedByThePrimary() {
+        ReadYourWrites.open();
+        User user = sqlUserRepository.findById(USER_ID).orElseThrow();
+        assertThat(user.getFirstName()).startsWith("replica");
+
+        assertThat(sqlUserRepository.updateIfVersion(User.builder()
+                .id(USER_ID)
+                .firstName("primary, written")
+                .lastName(user.getLastName())
+                .email(user.getEmail())
+                .version(user.getVersion())
+                .build())).isPresent();
+
+        assertThat(servingDatabase()).isEqualTo("primary, written");
+
+        ReadYourWrites.open();
+        assertThat(List.of(servingDatabase(), servingDatabase())).containsExactlyInAnyOrder("replica-1", "replica-2");
+    }
+
+    private String servingDatabase() {
+        return sqlUserRepository.findById(USER_ID).map(User::getFirstName).orElseThrow();
+    }
+
+    @TestConfiguration
+    static class RoutingDataSourceConfig {
+
+        @Bean
+        DataSource dataSource() {
+            return ReplicaRoutingDataSource.readOnlyRouting(
+                    database("primary"), List.of(database("replica-1"), database("replica-2")));
+        }
+
+        @Bean
+        TransactionExecutionListener readYourWritesListener() {
+            return ReadYourWrites.commitListener();
+        }
+
+        private static DataSource database(String name) {
+            DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:jpa-routing-" + name + ";DB_CLOSE_DELAY=-1");
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.execute("""
+                    create table if not exists app_user (
+                        id         bigint generated by default as identity primary key,
+                        first_name varchar(255) not null,
+                        last_name  varchar(255) not null,
+                        email      varchar(255) not null unique,
+                        version    bigint default 0 not null
+                    )
+                    """);
+            jdbcTemplate.update("delete from app_user");
+            jdbcTemplate.update("insert into app_user (id, first_name, last_name, email, version) values (?, ?, 'Last', 'user@example.com', 0)",
+                    USER_ID, name);
+            return dataSource;
+        }
+    }
+}
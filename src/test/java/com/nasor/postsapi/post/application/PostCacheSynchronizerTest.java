@@ -0,0 +1,116 @@
+package com.nasor.postsapi.post.application;
+
+import com.nasor.postsapi.cache.infraestructure.CacheSyncProperties;
+import com.nasor.postsapi.cache.infraestructure.NearCache;
+import com.nasor.postsapi.post.domain.Post;
+import com.nasor.postsapi.post.domain.PostChangedEvent;
+import com.nasor.postsapi.post.infraestructure.repository.RedisPostRepositoryImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class PostCacheSynchronizerTest {
+
+    @SuppressWarnings("unchecked")
+    private final NearCache<Post> postNearCache = mock(NearCache.class);
+    private final RedisPostRepositoryImpl cachedPostRepository = mock(RedisPostRepositoryImpl.class);
+    private PostCacheSynchronizer synchronizer;
+
+    @BeforeEach
+    void setUp() {
+        synchronizer = new PostCacheSynchronizer(cachedPostRepository, postNearCache,
+                new CacheSyncProperties(100, 50, 3, Duration.ofMillis(1)));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        synchronizer.shutdown();
+    }
+
+    @Test
+    void appliesOnlyTheLatestChangePerPost() {
+        Post created = post(1L, "first");
+        Post createdThenUpdated = post(1L, "second");
+        Post updated = post(2L, "updated");
+
+        synchronizer.apply(List.of(
+                PostChangedEvent.created(created),
+                PostChangedEvent.updated(createdThenUpdated),
+                PostChangedEvent.updated(updated),
+                PostChangedEvent.updated(post(3L, "gone")),
+                PostChangedEvent.deleted(3L)));
+
+        verify(cachedPostRepository).saveAllNew(List.of(createdThenUpdated));
+        verify(cachedPostRepository).saveAllUpdated(List.of(updated));
+        verify(cachedPostRepository).deleteAllById(List.of(3L));
+        verify(postNearCache).invalidate(2L);
+        verify(postNearCache).invalidate(3L);
+        verify(postNearCache, never()).invalidate(1L);
+    }
+
+    @Test
+    void retriesFailedBatches() {
+        doThrow(new RuntimeException("redis down"))
+                .doNothing()
+                .when(cachedPostRepository).saveAllNew(anyList());
+
+        synchronizer.onPostChanged(PostChangedEvent.created(post(1L, "title")));
+
+        verify(cachedPostRepository, timeout(1000).times(2)).saveAllNew(anyList());
+        verify(cachedPostRepository, times(0)).saveAllUpdated(anyList());
+    }
+
+    @Test
+    void evictsLocallyOnCommitAndBroadcastsFromTheWorkerAfterTheRedisWrite() {
+        AtomicReference<String> broadcastThread = new AtomicReference<>();
+        doAnswer(invocation -> {
+            broadcastThread.set(Thread.currentThread().getName());
+            return null;
+        }).when(postNearCache).invalidate(2L);
+
+        synchronizer.onPostChanged(PostChangedEvent.updated(post(2L, "updated")));
+        synchronizer.onPostChanged(PostChangedEvent.created(post(1L, "created")));
+
+        InOrder inOrder = inOrder(postNearCache, cachedPostRepository);
+        inOrder.verify(postNearCache).invalidateLocal(2L);
+        inOrder.verify(cachedPostRepository, timeout(1000)).saveAllUpdated(anyList());
+        inOrder.verify(postNearCache, timeout(1000)).invalidate(2L);
+        assertThat(broadcastThread.get()).isEqualTo("post-cache-sync");
+        verify(postNearCache, never()).invalidateLocal(1L);
+        verify(postNearCache, never()).invalidate(1L);
+    }
+
+    @Test
+    void keepsTheEventWhenTheBroadcastFails() {
+        doThrow(new RuntimeException("redis down"))
+                .doNothing()
+                .when(postNearCache).invalidate(2L);
+
+        synchronizer.onPostChanged(PostChangedEvent.updated(post(2L, "updated")));
+
+        verify(postNearCache).invalidateLocal(2L);
+        verify(cachedPostRepository, timeout(1000).times(2)).saveAllUpdated(anyList());
+        verify(postNearCache, timeout(1000).times(2)).invalidate(2L);
+    }
+
+    private static Post post(Long id, String title) {
+        return Post.builder().id(id).userId(1L).title(title).content("content").build();
+    }
+}
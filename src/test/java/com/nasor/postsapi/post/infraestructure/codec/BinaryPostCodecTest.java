@@ -0,0 +1,111 @@
+package com.nasor.postsapi.post.infraestructure.codec;
+
+import com.nasor.postsapi.post.domain.Post;
+import lombok.Builder;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.redis.core.RedisHash;
+import org.springframework.data.redis.core.convert.MappingRedisConverter;
+import org.springframework.data.redis.core.convert.RedisData;
+import org.springframework.data.redis.core.mapping.RedisMappingContext;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BinaryPostCodecTest {
+
+    private static final String SHORT_CONTENT = "Content long enough to satisfy the post length constraint.";
+    private static final String LONG_CONTENT = ("Posts are often long and repetitive, which is where LZ4 earns its keep. ").repeat(20);
+
+    private final BinaryPostCodec codec = new BinaryPostCodec(512);
+
+    @Test
+    void roundTripsEveryField() {
+        Post post = post(SHORT_CONTENT);
+
+        assertThat(codec.decode(codec.encode(post))).isEqualTo(post);
+    }
+
+    @Test
+    void roundTripsMissingDatesAndNonAsciiText() {
+        Post post = Post.builder()
+                .id(7L)
+                .userId(3L)
+                .title("Título ✓")
+                .content("Contenido con acentos, emojis 🚀 y más texto para superar el mínimo.")
+                .build();
+
+        assertThat(codec.decode(codec.encode(post))).isEqualTo(post);
+    }
+
+    @Test
+    void compressesContentAboveTheThreshold() {
+        Post post = post(LONG_CONTENT);
+
+        byte[] compressed = codec.encode(post);
+        byte[] uncompressed = new BinaryPostCodec(0).encode(post);
+
+        assertThat(compressed.length).isLessThan(uncompressed.length / 2);
+        assertThat(codec.decode(compressed)).isEqualTo(post);
+        assertThat(codec.decode(uncompressed)).isEqualTo(post);
+    }
+
+    /**
+     * Size comparison with the previous {@code @RedisHash} mapping. Decode
+     * time is left to {@code CacheCodecBenchmark}.
+     */
+    @Test
+    void isSmallerThanTheHashMapping() {
+        MappingRedisConverter converter = new MappingRedisConverter(new RedisMappingContext());
+        converter.afterPropertiesSet();
+
+        for (String content : new String[]{SHORT_CONTENT, LONG_CONTENT}) {
+            Post post = post(content);
+            byte[] binary = codec.encode(post);
+
+            RedisData hash = new RedisData();
+            converter.write(HashPost.of(post), hash);
+            Map<byte[], byte[]> fields = hash.getBucket().rawMap();
+            int hashBytes = fields.entrySet().stream().mapToInt(field -> field.getKey().length + field.getValue().length).sum();
+            assertThat(binary.length).isLessThan(hashBytes);
+        }
+    }
+
+    private static Post post(String content) {
+        return Post.builder()
+                .id(123456L)
+                .userId(42L)
+                .title("A reasonably typical post title")
+                .content(content)
+                .createdDate(LocalDateTime.of(2025, 7, 26, 14, 30, 0, 123456000))
+                .updatedDate(LocalDateTime.of(2025, 7, 27, 9, 15, 42, 987654000))
+                .build();
+    }
+
+    @RedisHash("Post")
+    @Data
+    @Builder
+    static class HashPost {
+        @Id
+        private Long id;
+        private String title;
+        private String content;
+        private Long authorId;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+
+        static HashPost of(Post post) {
+            return HashPost.builder()
+                    .id(post.getId())
+                    .title(post.getTitle())
+                    .content(post.getContent())
+                    .authorId(post.getUserId())
+                    .createdAt(post.getCreatedDate())
+                    .updatedAt(post.getUpdatedDate())
+                    .build();
+        }
+    }
+}
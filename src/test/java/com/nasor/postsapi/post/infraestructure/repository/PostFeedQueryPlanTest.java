@@ -0,0 +1,193 @@
+package com.nasor.postsapi.post.infraestructure.repository;
+
+import com.nasor.postsapi.post.domain.PostCursor;
+import com.nasor.postsapi.post.infraestructure.mapper.PostMapperImpl;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Flyway migrations against a real (embedded) Postgres, calls the feed
+ * and search methods of the repositories, and explains the SQL that Hibernate
+ * sent for them with the parameters it bound. It checks that the feeds are
+ * answered by an index in the requested order, without a separate sort step,
+ * and that search goes through the full-text index.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PostPostgresRepository.class, PostMapperImpl.class})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+class PostFeedQueryPlanTest {
+
+    private static final List<ExecutedQuery> executedQueries = new CopyOnWriteArrayList<>();
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private PostPostgresRepository postPostgresRepository;
+
+    @Autowired
+    private SpringPostRepository springPostRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void startPostgres() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        Flyway.configure().dataSource(postgres.getPostgresDatabase()).load().migrate();
+        JdbcTemplate setup = new JdbcTemplate(postgres.getPostgresDatabase());
+
+        setup.update("""
+                insert into app_user (first_name, last_name, email)
+                select 'First', 'Last', 'user' || i || '@example.com' from generate_series(1, 200) i
+                """);
+        setup.update("""
+                insert into post (id, title, content, author_id, created_at, updated_at)
+                select i, 'Title ' || i, repeat('content ', 10), 1 + i % 200,
+                       timestamp '2025-01-01' + i * interval '1 minute', timestamp '2025-01-01' + i * interval '1 minute'
+                from generate_series(1, 50000) i
+                """);
+        setup.update("update post set title = 'Needles in a haystack' where id % 5000 = 0");
+        setup.update("update post set content = content || 'needle' where id = 2500");
+        setup.execute("alter table post alter column search_vector set statistics 10000");
+        setup.execute("analyze");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void clearExecutedQueries() {
+        executedQueries.clear();
+    }
+
+    @Test
+    void authorFeedUsesTheAuthorIndex() {
+        postPostgresRepository.findPageByUserId(7L, null, 20);
+
+        assertThat(explainLastQuery()).contains("Index Scan using post_author_id_created_at_id_idx").doesNotContain("Sort");
+    }
+
+    @Test
+    void authorFeedNextPageUsesTheAuthorIndex() {
+        postPostgresRepository.findPageByUserId(7L, cursor(LocalDateTime.of(2025, 1, 20, 0, 0), 27000L), 20);
+
+        assertThat(explainLastQuery()).contains("Index Scan using post_author_id_created_at_id_idx").doesNotContain("Sort");
+    }
+
+    @Test
+    void globalFeedNextPageUsesTheCreatedAtIndex() {
+        postPostgresRepository.findPage(cursor(LocalDateTime.of(2025, 1, 20, 0, 0), 27000L), 20);
+
+        assertThat(explainLastQuery()).contains("Index Scan Backward using post_created_at_id_idx").doesNotContain("Sort");
+    }
+
+    @Test
+    void searchUsesTheFullTextIndexAndRanksTitleMatchesFirst() {
+        List<Long> ids = springPostRepository.searchIds("needle", 1000, 0, 20);
+
+        assertThat(explainLastQuery()).contains("Bitmap Index Scan on post_search_vector_idx");
+        assertThat(ids).containsExactly(50000L, 45000L, 40000L, 35000L, 30000L, 25000L, 20000L, 15000L, 10000L, 5000L, 2500L);
+    }
+
+    @Test
+    void searchRanksOnlyTheNewestCandidates() {
+        assertThat(springPostRepository.searchIds("needle", 3, 0, 20)).containsExactly(50000L, 45000L, 40000L);
+    }
+
+    private String explainLastQuery() {
+        assertThat(executedQueries).isNotEmpty();
+        ExecutedQuery query = executedQueries.get(executedQueries.size() - 1);
+        List<String> lines = jdbcTemplate.queryForList("explain " + query.sql(), String.class, query.parameters().values().toArray());
+        return String.join("\n", lines);
+    }
+
+    private static PostCursor cursor(LocalDateTime createdDate, Long id) {
+        return PostCursor.builder().createdDate(createdDate).id(id).build();
+    }
+
+    private record ExecutedQuery(String sql, Map<Integer, Object> parameters) {
+    }
+
+    @TestConfiguration
+    static class RecordingDataSourceConfig {
+
+        /**
+         * The embedded database, wrapped so that every query Hibernate executes
+         * is recorded together with the parameters it bound.
+         */
+        @Bean
+        DataSource dataSource() {
+            DataSource target = postgres.getPostgresDatabase();
+            return proxy(DataSource.class, target, (method, args, result) ->
+                    result instanceof Connection connection ? recording(connection) : result);
+        }
+
+        private static Connection recording(Connection target) {
+            return proxy(Connection.class, target, (method, args, result) ->
+                    method.getName().equals("prepareStatement") ? recording((PreparedStatement) result, (String) args[0]) : result);
+        }
+
+        private static PreparedStatement recording(PreparedStatement target, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                            parameters.put(index, args[1]);
+                        } else if (method.getName().equals("executeQuery")) {
+                            executedQueries.add(new ExecutedQuery(sql, new TreeMap<>(parameters)));
+                        }
+                        return invoke(target, method, args);
+                    });
+        }
+
+        private static <T> T proxy(Class<T> type, T target, ResultMapper mapper) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> mapper.map(method, args, invoke(target, method, args))));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private interface ResultMapper {
+            Object map(Method method, Object[] args, Object result);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.nasor.postsapi.post.infraestructure.repository;
+
+import com.nasor.postsapi.post.domain.Post;
+import com.nasor.postsapi.post.domain.PostCursor;
+import com.nasor.postsapi.post.domain.PostPage;
+import com.nasor.postsapi.post.infraestructure.entity.PostEntity;
+import com.nasor.postsapi.post.infraestructure.mapper.PostMapperImpl;
+import com.nasor.postsapi.user.domain.User;
+import com.nasor.postsapi.user.infraestructure.entity.UserEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({PostPostgresRepository.class, PostMapperImpl.class})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+class PostPostgresRepositoryTest {
+
+    @Autowired
+    private PostPostgresRepository postPostgresRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UserEntity author;
+    private UserEntity otherAuthor;
+
+    @BeforeEach
+    void setUp() {
+        author = persistUser("author@example.com");
+        otherAuthor = persistUser("other@example.com");
+        for (int i = 0; i < 7; i++) {
+            persistPost(i % 2 == 0 ? author : otherAuthor, "Post " + i);
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @Test
+    void findPageWalksAllPostsNewestFirstWithoutGapsOrDuplicates() {
+        List<Post> seen = new ArrayList<>();
+        PostCursor cursor = null;
+        List<Post> page;
+        do {
+            page = postPostgresRepository.findPage(cursor, 3).getPosts();
+            seen.addAll(page);
+            cursor = page.isEmpty() ? null : PostCursor.of(page.get(page.size() - 1));
+        } while (page.size() == 3);
+
+        assertThat(seen).hasSize(7);
+        assertThat(seen).extracting(Post::getId).doesNotHaveDuplicates();
+        assertThat(seen).isSortedAccordingTo((a, b) -> {
+            int byDate = b.getCreatedDate().compareTo(a.getCreatedDate());
+            return byDate != 0 ? byDate : b.getId().compareTo(a.getId());
+        });
+    }
+
+    @Test
+    void findPageReadsPostsAndAuthorsInOneQueryWithoutLoadingEntities() {
+        Statistics statistics = clearedStatistics();
+
+        PostPage page = postPostgresRepository.findPage(null, 4);
+
+        assertThat(page.getPosts()).hasSize(4);
+        assertThat(page.getAuthors()).containsOnlyKeys(author.getId(), otherAuthor.getId());
+        assertThat(page.getAuthors().get(author.getId()))
+                .extracting(User::getFirstName, User::getEmail)
+                .containsExactly("First", "author@example.com");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void findPageByUserIdOnlyReturnsThatAuthorsPosts() {
+        List<Post> first = postPostgresRepository.findPageByUserId(author.getId(), null, 2);
+        List<Post> second = postPostgresRepository.findPageByUserId(author.getId(), PostCursor.of(first.get(1)), 2);
+
+        assertThat(first).hasSize(2);
+        assertThat(second).hasSize(2);
+        assertThat(first).extracting(Post::getUserId).containsOnly(author.getId());
+        assertThat(second).extracting(Post::getUserId).containsOnly(author.getId());
+        assertThat(second).extracting(Post::getId).doesNotContainAnyElementsOf(first.stream().map(Post::getId).toList());
+    }
+
+    @Test
+    void findTimelineByUserIdReadsTheKeysetPositionsOfTheNewestPosts() {
+        Statistics statistics = clearedStatistics();
+
+        List<PostCursor> timeline = postPostgresRepository.findTimelineByUserId(author.getId(), 3);
+
+        assertThat(timeline).extracting(PostCursor::getId)
+                .containsExactlyElementsOf(postPostgresRepository.findPageByUserId(author.getId(), null, 3).stream()
+                        .map(Post::getId)
+                        .toList());
+        assertThat(timeline).allSatisfy(entry -> assertThat(entry.getCreatedDate()).isNotNull());
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void findTimelineReadsTheKeysetPositionsOfTheNewestPostsOfAllAuthors() {
+        Statistics statistics = clearedStatistics();
+
+        List<PostCursor> timeline = postPostgresRepository.findTimeline(5);
+
+        assertThat(timeline).extracting(PostCursor::getId)
+                .containsExactlyElementsOf(postPostgresRepository.findPage(null, 5).getPosts().stream()
+                        .map(Post::getId)
+                        .toList());
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void forEachChunkVisitsEveryPostInIdOrder() {
+        List<List<Post>> chunks = new ArrayList<>();
+
+        postPostgresRepository.forEachChunk(3, chunks::add);
+
+        assertThat(chunks).extracting(List::size).containsExactly(3, 3, 1);
+        assertThat(chunks.stream().flatMap(List::stream).toList())
+                .extracting(Post::getId)
+                .isSorted()
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    void saveIssuesOnlyTheInsert() {
+        Statistics statistics = clearedStatistics();
+
+        Post saved = postPostgresRepository.save(Post.builder()
+                .userId(author.getId())
+                .title("New post")
+                .content("Content long enough to satisfy the post length constraint.")
+                .build());
+        testEntityManager.flush();
+
+        assertThat(saved.getUserId()).isEqualTo(author.getId());
+        assertThat(saved.getCreatedDate()).isNotNull();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void saveAllInsertsInJdbcBatches() {
+        List<Post> posts = IntStream.range(0, 120)
+                .mapToObj(i -> Post.builder()
+                        .userId(i % 2 == 0 ? author.getId() : otherAuthor.getId())
+                        .title("Imported " + i)
+                        .content("Content long enough to satisfy the post length constraint.")
+                        .build())
+                .toList();
+        Statistics statistics = clearedStatistics();
+
+        List<Post> saved = postPostgresRepository.saveAll(posts);
+        testEntityManager.flush();
+
+        assertThat(saved).hasSize(120);
+        assertThat(saved).extracting(Post::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(saved).extracting(Post::getCreatedDate).doesNotContainNull();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(120);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(10);
+    }
+
+    @Test
+    void updateIfVersionIssuesASingleStatementAndRejectsStaleVersions() {
+        Post current = postPostgresRepository.findPageByUserId(author.getId(), null, 1).get(0);
+        testEntityManager.clear();
+        Statistics statistics = clearedStatistics();
+
+        Optional<Post> updated = postPostgresRepository.updateIfVersion(Post.builder()
+                .id(current.getId())
+                .userId(otherAuthor.getId())
+                .title("Updated title")
+                .content("Updated content long enough to satisfy the length constraint.")
+                .version(current.getVersion())
+                .build());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(updated).get().extracting(Post::getVersion).isEqualTo(current.getVersion() + 1);
+
+        Optional<Post> stale = postPostgresRepository.updateIfVersion(Post.builder()
+                .id(current.getId())
+                .userId(author.getId())
+                .title("Stale title")
+                .content("Stale content long enough to satisfy the length constraint.")
+                .version(current.getVersion())
+                .build());
+
+        assertThat(stale).isEmpty();
+        testEntityManager.clear();
+        assertThat(postPostgresRepository.findById(current.getId())).get()
+                .extracting(Post::getTitle, Post::getUserId, Post::getVersion)
+                .containsExactly("Updated title", otherAuthor.getId(), current.getVersion() + 1);
+    }
+
+    @Test
+    void deleteByIdIssuesASingleStatement() {
+        Long postId = postPostgresRepository.findPage(null, 1).getPosts().get(0).getId();
+        Statistics statistics = clearedStatistics();
+
+        assertThat(postPostgresRepository.deleteById(postId)).isTrue();
+        assertThat(postPostgresRepository.deleteById(postId)).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    private Statistics clearedStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private UserEntity persistUser(String email) {
+        return testEntityManager.persist(UserEntity.builder()
+                .firstName("First")
+                .lastName("Last")
+                .email(email)
+                .build());
+    }
+
+    private void persistPost(UserEntity user, String title) {
+        testEntityManager.persist(PostEntity.builder()
+                .author(user)
+                .title(title)
+                .content("Content long enough to satisfy the post length constraint.")
+                .build());
+    }
+}
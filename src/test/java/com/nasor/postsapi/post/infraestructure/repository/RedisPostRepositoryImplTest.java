@@ -0,0 +1,124 @@
+package com.nasor.postsapi.post.infraestructure.repository;
+
+import com.nasor.postsapi.cache.infraestructure.RedisCacheProperties;
+import com.nasor.postsapi.post.domain.Post;
+import com.nasor.postsapi.post.infraestructure.codec.BinaryPostCodec;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs the cache scripts against the Redis on {@code localhost:6379}, in
+ * database 15, and is skipped when no Redis is running there.
+ */
+class RedisPostRepositoryImplTest {
+
+    private static final long POST_ID = 900_000_001L;
+    private static final String POST_KEY = "Post:value:" + POST_ID;
+    private static final Duration TOMBSTONE_TTL = Duration.ofMinutes(1);
+
+    private static LettuceConnectionFactory connectionFactory;
+
+    private StringRedisTemplate redisTemplate;
+    private RedisPostRepositoryImpl repository;
+
+    @BeforeAll
+    static void connect() {
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration("localhost", 6379);
+        configuration.setDatabase(15);
+        connectionFactory = new LettuceConnectionFactory(configuration);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        try {
+            redisTemplate.delete(POST_KEY);
+        } catch (RedisConnectionFailureException e) {
+            assumeTrue(false, "No Redis on localhost:6379");
+        }
+        repository = new RedisPostRepositoryImpl(redisTemplate, new BinaryPostCodec(512), new RedisCacheProperties(
+                Duration.ofHours(1), TOMBSTONE_TTL, Duration.ofHours(1), Duration.ofSeconds(60), DataSize.ofBytes(512),
+                1000, 10000, Duration.ofHours(1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        redisTemplate.delete(POST_KEY);
+    }
+
+    @Test
+    void aLoadThatReadTheRowBeforeTheDeleteCanNotBringThePostBack() throws Exception {
+        repository.save(post(0L));
+        CountDownLatch rowRead = new CountDownLatch(1);
+        CountDownLatch deleteApplied = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> slowLoad = executor.submit(() -> {
+                Post row = post(0L);
+                rowRead.countDown();
+                deleteApplied.await(5, TimeUnit.SECONDS);
+                return repository.save(row);
+            });
+            assertThat(rowRead.await(5, TimeUnit.SECONDS)).isTrue();
+
+            repository.deleteAllById(List.of(POST_ID));
+            deleteApplied.countDown();
+            slowLoad.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(repository.findById(POST_ID)).isEmpty();
+        assertThat(repository.findEntryById(POST_ID)).isEmpty();
+        assertThat(repository.findValuesByIds(List.of(POST_ID))).containsOnlyNulls();
+        assertThat(redisTemplate.getExpire(POST_KEY, TimeUnit.MILLISECONDS)).isBetween(1L, TOMBSTONE_TTL.toMillis());
+    }
+
+    @Test
+    void aLoadThatReadAnOlderVersionKeepsTheNewerOne() {
+        repository.save(post(3L));
+
+        repository.save(post(2L));
+
+        assertThat(repository.findById(POST_ID)).get().extracting(Post::getVersion).isEqualTo(3L);
+    }
+
+    private static Post post(Long version) {
+        return Post.builder()
+                .id(POST_ID)
+                .userId(1L)
+                .title("Title")
+                .content("Content long enough to satisfy the post length constraint.")
+                .createdDate(LocalDateTime.of(2025, 1, 1, 0, 0))
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.nasor.postsapi.post.infraestructure.search;
+
+import com.nasor.postsapi.post.domain.Post;
+import com.nasor.postsapi.post.domain.PostChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryPostSearchIndexTest {
+
+    private final InMemoryPostSearchIndex index = new InMemoryPostSearchIndex();
+
+    @Test
+    void matchesEveryWordAndRanksTitleMatchesFirst() {
+        index.onPostChanged(PostChangedEvent.created(post(1L, "Caching basics", "Redis keeps hot posts close to the API.")));
+        index.onPostChanged(PostChangedEvent.created(post(2L, "Redis caching", "A near cache sits in front of Redis.")));
+        index.onPostChanged(PostChangedEvent.created(post(3L, "Databases", "Postgres stores every post.")));
+
+        assertThat(index.search("redis", 0, 10)).containsExactly(2L, 1L);
+        assertThat(index.search("Redis, caching!", 0, 10)).containsExactly(2L, 1L);
+        assertThat(index.search("redis postgres", 0, 10)).isEmpty();
+        assertThat(index.search("redis", 1, 10)).containsExactly(1L);
+        assertThat(index.search("  ", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void followsUpdatesAndDeletes() {
+        index.onPostChanged(PostChangedEvent.created(post(1L, "Redis caching", "A near cache sits in front of Redis.")));
+
+        index.onPostChanged(PostChangedEvent.updated(post(1L, "Database tuning", "Indexes for every feed query.")));
+        assertThat(index.search("redis", 0, 10)).isEmpty();
+        assertThat(index.search("tuning", 0, 10)).containsExactly(1L);
+
+        index.onPostChanged(PostChangedEvent.deleted(1L));
+        assertThat(index.search("tuning", 0, 10)).isEmpty();
+    }
+
+    private static Post post(Long id, String title, String content) {
+        return Post.builder().id(id).userId(1L).title(title).content(content).build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.nasor.postsapi.user.infraestructure.repository;
+
+import com.nasor.postsapi.user.domain.User;
+import com.nasor.postsapi.user.infraestructure.entity.UserEntity;
+import com.nasor.postsapi.user.infraestructure.mapper.UserMapperImp;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({SqlUserRepository.class, UserMapperImp.class})
+class SqlUserRepositoryTest {
+
+    @Autowired
+    private SqlUserRepository sqlUserRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 250})
+    void findAllByIdsIssuesSingleQueryRegardlessOfSize(int size) {
+        List<Long> ids = IntStream.range(0, size)
+                .mapToObj(i -> testEntityManager.persist(UserEntity.builder()
+                        .firstName("First" + i)
+                        .lastName("Last" + i)
+                        .email("user" + i + "@example.com")
+                        .build()).getId())
+                .toList();
+        testEntityManager.flush();
+        testEntityManager.clear();
+        statistics.clear();
+
+        List<User> users = sqlUserRepository.findAllByIds(ids);
+
+        assertThat(users).hasSize(size);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}